@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.configuration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Compares the entity speed guard of moveEntity reading its limit from an
+ * {@link ActiveConfigSnapshot} with resolving it through the world,
+ * dimension and global configs on every move, as it used to.
+ *
+ * <p>Only the limit lookup and check are measured, the rest of moveEntity
+ * needs a running server and the mixins.</p>
+ */
+@State(Scope.Thread)
+public class EntityGuardBenchmark {
+
+    @Param({"0", "100"})
+    public int maxSpeed;
+
+    private SpongeConfig<SpongeConfig.WorldConfig> worldConfig;
+    private SpongeConfig<SpongeConfig.DimensionConfig> dimensionConfig;
+    private SpongeConfig<SpongeConfig.GlobalConfig> globalConfig;
+    private ActiveConfigSnapshot snapshot;
+    private double motion;
+
+    @Setup
+    public void setUp() throws IOException {
+        final File dir = File.createTempFile("sponge", "config");
+        dir.delete();
+        this.worldConfig = new SpongeConfig<SpongeConfig.WorldConfig>(SpongeConfig.Type.WORLD, new File(dir, "world/world.conf"), "sponge");
+        this.dimensionConfig = new SpongeConfig<SpongeConfig.DimensionConfig>(SpongeConfig.Type.DIMENSION,
+                new File(dir, "dimension/dimension.conf"), "sponge");
+        this.globalConfig = new SpongeConfig<SpongeConfig.GlobalConfig>(SpongeConfig.Type.GLOBAL, new File(dir, "global.conf"), "sponge");
+        this.globalConfig.getConfig().getEntity().setMaxSpeed(this.maxSpeed);
+        this.snapshot = new ActiveConfigSnapshot(this.globalConfig, SpongeConfig.getVersion());
+        this.motion = 0.3;
+    }
+
+    @Benchmark
+    public boolean resolvedConfig() {
+        final SpongeConfig<?> config;
+        if (this.worldConfig.getConfig().isConfigEnabled()) {
+            config = this.worldConfig;
+        } else if (this.dimensionConfig.getConfig().isConfigEnabled()) {
+            config = this.dimensionConfig;
+        } else {
+            config = this.globalConfig;
+        }
+        final int limit = config.getConfig().getEntity().getMaxSpeed();
+        return limit <= 0 || this.motion * this.motion + this.motion * this.motion <= limit;
+    }
+
+    @Benchmark
+    public boolean snapshot() {
+        final int limit = this.snapshot.getMaxSpeed();
+        return limit <= 0 || this.motion * this.motion + this.motion * this.motion <= limit;
+    }
+
+}
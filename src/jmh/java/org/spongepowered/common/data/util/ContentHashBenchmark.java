@@ -0,0 +1,132 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import com.google.common.base.Strings;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares telling apart the tags of two stacks that only differ in their
+ * last entry with {@link NBTTagCompound#equals(Object)}, with content
+ * hashes computed from scratch and with the cached content hashes.
+ *
+ * <p>The NBT mixins that cache the hashes are not applied under JMH, so
+ * the hashes are computed here with the same {@link NbtDataUtil} helpers,
+ * and the cached case compares hashes computed during setup.</p>
+ */
+@State(Scope.Thread)
+public class ContentHashBenchmark {
+
+    @Param({"enchanted", "book"})
+    public String item;
+
+    private NBTTagCompound tag;
+    private NBTTagCompound otherTag;
+    private long hash;
+    private long otherHash;
+
+    @Setup
+    public void setUp() {
+        this.tag = this.item.equals("book") ? createBook("The end") : createEnchanted(5);
+        this.otherTag = this.item.equals("book") ? createBook("The other end") : createEnchanted(4);
+        this.hash = hash(this.tag);
+        this.otherHash = hash(this.otherTag);
+    }
+
+    private static NBTTagCompound createEnchanted(int lastLevel) {
+        final NBTTagCompound tag = new NBTTagCompound();
+        final NBTTagList enchantments = new NBTTagList();
+        for (int i = 0; i < 5; i++) {
+            final NBTTagCompound enchantment = new NBTTagCompound();
+            enchantment.setShort("id", (short) i);
+            enchantment.setShort("lvl", (short) (i == 4 ? lastLevel : 3));
+            enchantments.appendTag(enchantment);
+        }
+        tag.setTag("ench", enchantments);
+        final NBTTagCompound display = new NBTTagCompound();
+        display.setString("Name", "Sword of the benchmark");
+        final NBTTagList lore = new NBTTagList();
+        lore.appendTag(new NBTTagString("Compared a lot"));
+        display.setTag("Lore", lore);
+        tag.setTag("display", display);
+        return tag;
+    }
+
+    private static NBTTagCompound createBook(String lastPage) {
+        final NBTTagCompound tag = new NBTTagCompound();
+        tag.setString("title", "Benchmarks");
+        tag.setString("author", "Sponge");
+        final NBTTagList pages = new NBTTagList();
+        for (int i = 0; i < 49; i++) {
+            pages.appendTag(new NBTTagString(Strings.repeat("Page " + i + " ", 32)));
+        }
+        pages.appendTag(new NBTTagString(lastPage));
+        tag.setTag("pages", pages);
+        return tag;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long hash(NBTBase tag) {
+        if (tag instanceof NBTTagCompound) {
+            long hash = NbtDataUtil.TAG_COMPOUND;
+            for (String key : (Iterable<String>) ((NBTTagCompound) tag).getKeySet()) {
+                hash = NbtDataUtil.addCompoundEntry(hash, key, hash(((NBTTagCompound) tag).getTag(key)));
+            }
+            return NbtDataUtil.mixHash(hash);
+        } else if (tag instanceof NBTTagList) {
+            final NBTTagList list = (NBTTagList) tag;
+            long hash = NbtDataUtil.TAG_LIST;
+            for (int i = 0; i < list.tagCount(); i++) {
+                hash = NbtDataUtil.addListElement(hash, hash(list.get(i)));
+            }
+            return NbtDataUtil.mixHash(hash);
+        }
+        return NbtDataUtil.getPrimitiveHash(tag);
+    }
+
+    @Benchmark
+    public boolean tagEquals() {
+        return this.tag.equals(this.otherTag);
+    }
+
+    @Benchmark
+    public boolean uncachedHash() {
+        return hash(this.tag) == hash(this.otherTag);
+    }
+
+    @Benchmark
+    public boolean cachedHash() {
+        return this.hash == this.otherHash;
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import com.flowpowered.math.vector.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.extent.Extent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+
+/**
+ * Compares the radius check of entity selectors reading the position
+ * through a new {@link Location}, as it used to, with reading the
+ * coordinates directly. Run it with {@code -prof gc} to see the allocation
+ * rate of each.
+ *
+ * <p>The entity mixin cannot be applied under JMH, so the entities are
+ * replaced by plain holders of the same position fields.</p>
+ */
+@State(Scope.Thread)
+public class EntityPositionBenchmark {
+
+    private static final int ENTITIES = 1024;
+
+    private final double[] posX = new double[ENTITIES];
+    private final double[] posY = new double[ENTITIES];
+    private final double[] posZ = new double[ENTITIES];
+    private final Vector3d center = new Vector3d(0, 64, 0);
+    private Extent extent;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        for (int i = 0; i < ENTITIES; i++) {
+            this.posX[i] = random.nextDouble() * 256 - 128;
+            this.posY[i] = random.nextDouble() * 128;
+            this.posZ[i] = random.nextDouble() * 256 - 128;
+        }
+        // Only needed to create locations, none of the extent methods are called
+        this.extent = (Extent) Proxy.newProxyInstance(Extent.class.getClassLoader(), new Class<?>[] {Extent.class}, new InvocationHandler() {
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                } else if (method.getName().equals("equals")) {
+                    return proxy == args[0];
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public int location() {
+        int inRange = 0;
+        for (int i = 0; i < ENTITIES; i++) {
+            final Location<Extent> location = new Location<Extent>(this.extent, new Vector3d(this.posX[i], this.posY[i], this.posZ[i]));
+            if (location.getPosition().distanceSquared(this.center) <= 64 * 64) {
+                inRange++;
+            }
+        }
+        return inRange;
+    }
+
+    @Benchmark
+    public int fields() {
+        int inRange = 0;
+        for (int i = 0; i < ENTITIES; i++) {
+            final double x = this.posX[i] - this.center.getX();
+            final double y = this.posY[i] - this.center.getY();
+            final double z = this.posZ[i] - this.center.getZ();
+            if (x * x + y * y + z * z <= 64 * 64) {
+                inRange++;
+            }
+        }
+        return inRange;
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.pagination;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.Texts;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.format.TextStyles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures counting the lines of a 10000 line list for its pagination, the
+ * first time and when the same texts are paginated again.
+ */
+@State(Scope.Thread)
+public class PaginationBenchmark {
+
+    private static final int LINES = 10000;
+
+    private final List<Text> lines = new ArrayList<Text>(LINES);
+    private PlayerPaginationCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < LINES; i++) {
+            // Like a help listing, a bold command followed by its description
+            this.lines.add(Texts.of(Texts.of(TextColors.GREEN, TextStyles.BOLD, "/command" + i),
+                    Texts.of(TextColors.WHITE, " - Does something with the argument number " + i + " of the given command")));
+        }
+        this.calculator = new PlayerPaginationCalculator();
+        countLines(this.calculator);
+    }
+
+    private int countLines(PlayerPaginationCalculator calculator) {
+        int total = 0;
+        for (Text line : this.lines) {
+            // The player is only needed for translated texts
+            total += calculator.getLines(null, line);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int firstPagination() {
+        return countLines(new PlayerPaginationCalculator());
+    }
+
+    @Benchmark
+    public int repeatedPagination() {
+        return countLines(this.calculator);
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text;
+
+import com.google.common.collect.UnmodifiableIterator;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.IChatComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.common.interfaces.text.IMixinChatComponent;
+
+import java.util.Iterator;
+
+/**
+ * Compares walking deep and wide component trees with the array stack of
+ * {@link ChatComponentIterator} and with the chain of nested iterators it
+ * replaced.
+ *
+ * <p>The text mixins are not applied under JMH, so the tree is built from
+ * components that implement the mixin interface themselves.</p>
+ */
+@State(Scope.Thread)
+public class ChatComponentIteratorBenchmark {
+
+    @Param({"deep", "wide"})
+    public String shape;
+
+    private Component root;
+
+    @Setup
+    public void setUp() {
+        this.root = new Component();
+        if (this.shape.equals("deep")) {
+            Component parent = this.root;
+            for (int i = 0; i < 1000; i++) {
+                Component child = new Component();
+                parent.appendSibling(child);
+                parent = child;
+            }
+        } else {
+            for (int i = 0; i < 1000; i++) {
+                this.root.appendSibling(new Component());
+            }
+        }
+    }
+
+    @Benchmark
+    public int arrayStack() {
+        int count = 0;
+        for (Iterator<IChatComponent> it = new ChatComponentIterator(this.root); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int nestedIterators() {
+        int count = 0;
+        for (Iterator<IChatComponent> it = new NestedIterator(this.root); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static final class Component extends ChatComponentText implements IMixinChatComponent {
+
+        Component() {
+            super("text");
+        }
+
+        @Override
+        public Iterator<IChatComponent> childrenIterator() {
+            return getSiblings().iterator();
+        }
+
+        @Override
+        public Iterable<IChatComponent> withChildren() {
+            return new Iterable<IChatComponent>() {
+
+                @Override
+                public Iterator<IChatComponent> iterator() {
+                    return new NestedIterator(Component.this);
+                }
+            };
+        }
+
+        @Override
+        public String toPlain() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getLegacyFormatting() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toLegacy(char code) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Text toText() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * The previous iterator, which opened a nested iterator for every
+     * child.
+     */
+    private static final class NestedIterator extends UnmodifiableIterator<IChatComponent> {
+
+        private IMixinChatComponent component;
+        private Iterator<IChatComponent> children;
+        private Iterator<IChatComponent> currentChildIterator;
+
+        NestedIterator(IMixinChatComponent component) {
+            this.component = component;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.component != null || (this.currentChildIterator != null && this.currentChildIterator.hasNext()) || this.children.hasNext();
+        }
+
+        @Override
+        public IChatComponent next() {
+            if (this.component != null) {
+                this.children = this.component.childrenIterator();
+                IChatComponent result = this.component;
+                this.component = null;
+                return result;
+            } else if (this.currentChildIterator == null || !this.currentChildIterator.hasNext()) {
+                this.currentChildIterator = ((IMixinChatComponent) this.children.next()).withChildren().iterator();
+            }
+            return this.currentChildIterator.next();
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.xml;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.text.Text;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+import org.xml.sax.helpers.XMLReaderFactory;
+
+import java.io.StringReader;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.UnmarshallerHandler;
+
+/**
+ * Compares parsing TextXML messages with a new unmarshaller and reader per
+ * message against the reused ones of {@link TextXmlRepresentation}, with
+ * and without the parse cache.
+ *
+ * <p>The messages only use plain spans, styles and actions need the game
+ * registry.</p>
+ */
+@State(Scope.Thread)
+public class TextXmlBenchmark {
+
+    @Param({"1", "100"})
+    public int spans;
+
+    private JAXBContext context;
+    private String message;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.context = JAXBContext.newInstance(Element.class);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.spans; i++) {
+            builder.append("<span>Message part ").append(i).append(" </span>");
+        }
+        this.message = builder.toString();
+    }
+
+    @Benchmark
+    public Text newParser() throws Exception {
+        UnmarshallerHandler handler = this.context.createUnmarshaller().getUnmarshallerHandler();
+        XMLReader reader = XMLReaderFactory.createXMLReader();
+        reader.setContentHandler(new WhitespaceAwareUnmarshallerHandler(handler));
+        reader.setErrorHandler(new DefaultHandler());
+        reader.parse(new InputSource(new StringReader("<span>" + this.message + "</span>")));
+        return ((Element) handler.getResult()).toText().build();
+    }
+
+    @Benchmark
+    public Text reusedParser() throws Exception {
+        return TextXmlRepresentation.parse(this.message);
+    }
+
+    @Benchmark
+    public Text cached() throws Exception {
+        return TextXmlRepresentation.INSTANCE.from(this.message);
+    }
+
+}
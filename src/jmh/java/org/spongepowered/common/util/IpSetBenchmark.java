@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares matching an address against a list of {@link IpSet}s one by one
+ * with matching it against the same sets compiled into an {@link IpSetTrie}.
+ */
+@State(Scope.Thread)
+public class IpSetBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int ranges;
+
+    private List<IpSet> sets;
+    private IpSetTrie trie;
+    private InetAddress[] addresses;
+    private int next;
+
+    @Setup
+    public void setUp() throws UnknownHostException {
+        Random random = new Random(42);
+        this.sets = new ArrayList<IpSet>();
+        for (int i = 0; i < this.ranges; i++) {
+            this.sets.add(IpSet.fromAddrPrefix(randomIpv4Address(random), 8 + random.nextInt(25)));
+        }
+        this.trie = IpSetTrie.of(this.sets);
+        this.addresses = new InetAddress[4096];
+        for (int i = 0; i < this.addresses.length; i++) {
+            this.addresses[i] = randomIpv4Address(random);
+        }
+    }
+
+    private InetAddress nextAddress() {
+        return this.addresses[this.next++ & (this.addresses.length - 1)];
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        InetAddress address = nextAddress();
+        for (IpSet set : this.sets) {
+            if (set.apply(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean trie() {
+        return this.trie.apply(nextAddress());
+    }
+
+    private static InetAddress randomIpv4Address(Random random) throws UnknownHostException {
+        byte[] address = new byte[4];
+        random.nextBytes(address);
+        // Keep addresses in a few /8s so that sets overlap with them
+        address[0] = (byte) (10 + random.nextInt(4));
+        return InetAddress.getByAddress(address);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Random;
+
+/**
+ * Measures filling an {@link AtomicShortArray} the size of a chunk from
+ * several threads at once, against an unsynchronized short array, and
+ * taking snapshots of it while it is being filled.
+ */
+@State(Scope.Benchmark)
+public class AtomicArrayBenchmark {
+
+    private static final int LENGTH = 16 * 256 * 16;
+
+    private final AtomicShortArray blocks = new AtomicShortArray(LENGTH);
+    private final short[] plainBlocks = new short[LENGTH];
+
+    /**
+     * The position a thread writes next, every thread fills its own part of
+     * the array.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        @Setup
+        public void setUp() {
+            this.next = new Random().nextInt(LENGTH);
+        }
+
+        int next() {
+            this.next = this.next + 1 & LENGTH - 1;
+            return this.next;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void atomicSet(Cursor cursor) {
+        this.blocks.set(cursor.next(), (short) 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void plainSet(Cursor cursor) {
+        this.plainBlocks[cursor.next()] = 1;
+    }
+
+    @Benchmark
+    @Group("fillAndCopy")
+    @GroupThreads(3)
+    public void fill(Cursor cursor) {
+        this.blocks.set(cursor.next(), (short) 1);
+    }
+
+    @Benchmark
+    @Group("fillAndCopy")
+    public short[] copy() {
+        return this.blocks.toArray();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.base.Optional;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.world.TeleportHelper;
+
+/**
+ * Measures the worst cases of the safe location search, where no safe
+ * position is found and the whole searched area is read: high above an
+ * ocean, and inside solid stone.
+ *
+ * <p>The chunks have no world since the mixins are not applied under JMH,
+ * the search reads them straight from a fixed chunk instead.</p>
+ */
+@State(Scope.Thread)
+public class SafeLocationSearchBenchmark {
+
+    private static final int SEA_LEVEL = 63;
+
+    private Chunk ocean;
+    private Chunk stone;
+
+    @Setup
+    public void setUp() {
+        Bootstrap.register();
+        this.ocean = createChunk(Blocks.water.getDefaultState(), SEA_LEVEL);
+        this.stone = createChunk(Blocks.stone.getDefaultState(), 128);
+    }
+
+    private static Chunk createChunk(IBlockState fill, int top) {
+        final Chunk chunk = new Chunk(null, 0, 0);
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        for (int y = 0; y < top; y++) {
+            if (sections[y >> 4] == null) {
+                sections[y >> 4] = new ExtendedBlockStorage(y >> 4 << 4, true);
+            }
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    sections[y >> 4].set(x, y & 15, z, y == 0 ? Blocks.bedrock.getDefaultState() : fill);
+                }
+            }
+        }
+        chunk.generateHeightMap();
+        return chunk;
+    }
+
+    private static Optional<Vector3i> search(final Chunk chunk, Vector3i origin) {
+        return new SpongeTeleportHelper.SafeLocationSearch(null, origin, TeleportHelper.DEFAULT_HEIGHT, TeleportHelper.DEFAULT_WIDTH, 256,
+                false) {
+
+            @Override
+            Chunk getChunk(int chunkX, int chunkZ) {
+                // Every chunk looks the same
+                return chunk;
+            }
+        }.find();
+    }
+
+    @Benchmark
+    public Optional<Vector3i> aboveOcean() {
+        return search(this.ocean, new Vector3i(8, 100, 8));
+    }
+
+    @Benchmark
+    public Optional<Vector3i> inStone() {
+        return search(this.stone, new Vector3i(8, 64, 8));
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.extent;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Compares copying the blocks of a chunk section by section with reading
+ * them one position at a time.
+ *
+ * <p>The per block path is replayed here the way the chunk mixin reads a
+ * block, with a new {@link BlockPos} and a state lookup per position,
+ * since the mixins are not applied under JMH.</p>
+ */
+@State(Scope.Thread)
+public class ExtentCopyBenchmark {
+
+    private static final Vector3i MIN = Vector3i.ZERO;
+    private static final Vector3i MAX = new Vector3i(15, 255, 15);
+    private static final Vector3i SIZE = MAX.sub(MIN).add(Vector3i.ONE);
+
+    /**
+     * The number of sections from the bottom that hold blocks, the others
+     * are empty like the sky of most chunks.
+     */
+    @Param({"4", "16"})
+    public int filledSections;
+
+    private Chunk chunk;
+
+    @Setup
+    public void setUp() {
+        Bootstrap.register();
+        this.chunk = new Chunk(null, 0, 0);
+        final IBlockState[] states = {Blocks.stone.getDefaultState(), Blocks.dirt.getDefaultState(), Blocks.air.getDefaultState(),
+                Blocks.gravel.getDefaultState()};
+        final Random random = new Random(42);
+        final ExtendedBlockStorage[] sections = this.chunk.getBlockStorageArray();
+        for (int sectionY = 0; sectionY < this.filledSections; sectionY++) {
+            final ExtendedBlockStorage section = new ExtendedBlockStorage(sectionY << 4, true);
+            for (int x = 0; x < 16; x++) {
+                for (int y = 0; y < 16; y++) {
+                    for (int z = 0; z < 16; z++) {
+                        section.set(x, y, z, states[random.nextInt(states.length)]);
+                    }
+                }
+            }
+            sections[sectionY] = section;
+        }
+    }
+
+    @Benchmark
+    public short[] sections() {
+        final short[] copy = new short[SIZE.getX() * SIZE.getY() * SIZE.getZ()];
+        ExtentBufferUtil.copyFromChunk(this.chunk, MIN, MAX, SIZE, copy);
+        return copy;
+    }
+
+    @Benchmark
+    public short[] perBlock() {
+        final short[] copy = new short[SIZE.getX() * SIZE.getY() * SIZE.getZ()];
+        final ExtendedBlockStorage[] sections = this.chunk.getBlockStorageArray();
+        int i = 0;
+        for (int x = MIN.getX(); x <= MAX.getX(); x++) {
+            for (int z = MIN.getZ(); z <= MAX.getZ(); z++) {
+                for (int y = MIN.getY(); y <= MAX.getY(); y++) {
+                    final BlockPos pos = new BlockPos(x, y, z);
+                    final ExtendedBlockStorage section = sections[pos.getY() >> 4];
+                    final IBlockState state = section == null ? Blocks.air.getDefaultState()
+                            : section.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+                    copy[i++] = (short) Block.BLOCK_STATE_IDS.get(state);
+                }
+            }
+        }
+        return copy;
+    }
+
+}
@@ -25,6 +25,11 @@
 package org.spongepowered.common.command;
 
 import com.flowpowered.math.GenericMath;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.stream.JsonWriter;
 import gnu.trove.map.hash.TObjectIntHashMap;
 import net.minecraft.entity.Entity;
@@ -33,105 +38,82 @@
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.interfaces.IMixinChunk;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.Executors;
 
+/**
+ * Writes a report of the loaded chunks, entities and tile entities of every
+ * world.
+ *
+ * <p>Only a lightweight snapshot of the worlds is taken on the calling
+ * thread, the report itself is built and streamed to disk on a background
+ * thread.</p>
+ */
 public class ChunkSaveHelper {
 
-    @SuppressWarnings("rawtypes")
-    public static void writeChunks(File file, boolean logAll) {
-        try {
-            if (file.getParentFile() != null) {
-                file.getParentFile().mkdirs();
-            }
+    /**
+     * The minimum count for an entry to be listed in the report.
+     */
+    private static final int MIN_COUNT = 5;
 
-            FileWriter fileWriter = new FileWriter(file);
-            JsonWriter writer = new JsonWriter(fileWriter);
-            writer.setIndent("  ");
-            writer.beginArray();
+    private static final ListeningExecutorService executor = MoreExecutors.listeningDecorator(
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Sponge Chunk Dump").setDaemon(true).build()));
 
-            for (World spongeWorld : Sponge.getGame().getServer().getWorlds()) {
-                WorldServer world = (WorldServer) spongeWorld;
-                writer.beginObject();
-                writer.name("name").value(((WorldServer) spongeWorld).getSaveHandler().getWorldDirectoryName());
-                writer.name("dimensionId").value(world.provider.getDimensionId());
-                writer.name("players").value(world.playerEntities.size());
-                writer.name("loadedChunks").value(world.theChunkProviderServer.loadedChunks.size());
-                writer.name("activeChunks").value(world.activeChunkSet.size());
-                writer.name("entities").value(world.loadedEntityList.size());
-                writer.name("tiles").value(world.loadedTileEntityList.size());
-
-                TObjectIntHashMap<ChunkCoordIntPair> chunkEntityCounts = new TObjectIntHashMap<ChunkCoordIntPair>();
-                TObjectIntHashMap<Class> classEntityCounts = new TObjectIntHashMap<Class>();
-                TObjectIntHashMap<Entity> entityCollisionCounts = new TObjectIntHashMap<Entity>();
-                Set<BlockPos> collidingCoords = new HashSet<BlockPos>();
-                for (int i = 0; i < world.loadedEntityList.size(); i++) {
-                    Entity entity = (Entity) world.loadedEntityList.get(i);
-                    ChunkCoordIntPair chunkCoords = new ChunkCoordIntPair((int) entity.posX >> 4, (int) entity.posZ >> 4);
-                    chunkEntityCounts.adjustOrPutValue(chunkCoords, 1, 1);
-                    classEntityCounts.adjustOrPutValue(entity.getClass(), 1, 1);
-                    if ((entity.getBoundingBox() != null) && logAll) {
-                        BlockPos coords = new BlockPos(GenericMath.floor(entity.posX), GenericMath.floor(entity.posY), GenericMath.floor(entity.posZ));
-                        if (!collidingCoords.contains(coords)) {
-                            collidingCoords.add(coords);
-                            int size = entity.worldObj.getEntitiesWithinAABBExcludingEntity(entity, entity.getBoundingBox().expand(1, 1, 1)).size();
-                            if (size < 5) {
-                                continue;
-                            }
-                            entityCollisionCounts.put(entity, size);
-                        }
-                    }
-                }
-
-                TObjectIntHashMap<ChunkCoordIntPair> chunkTileCounts = new TObjectIntHashMap<ChunkCoordIntPair>();
-                TObjectIntHashMap<Class> classTileCounts = new TObjectIntHashMap<Class>();
-                writer.name("tiles").beginArray();
-                for (int i = 0; i < world.loadedTileEntityList.size(); i++) {
-                    TileEntity tile = (TileEntity) world.loadedTileEntityList.get(i);
-                    if (logAll) {
-                        writer.beginObject();
-                        writer.name("type").value(tile.getClass().toString());
-                        writer.name("x").value(tile.getPos().getX());
-                        writer.name("y").value(tile.getPos().getY());
-                        writer.name("z").value(tile.getPos().getZ());
-                        writer.name("isInvalid").value(tile.isInvalid());
-                        // writer.name("canUpdate").value(tile.canUpdate());
-                        writer.name("block").value("" + tile.getBlockType());
-                        writer.endObject();
-                    }
-                    ChunkCoordIntPair chunkCoords = new ChunkCoordIntPair(tile.getPos().getX() >> 4, tile.getPos().getZ() >> 4);
-                    chunkTileCounts.adjustOrPutValue(chunkCoords, 1, 1);
-                    classTileCounts.adjustOrPutValue(tile.getClass(), 1, 1);
-                }
-                writer.endArray();
+    /**
+     * Snapshots the loaded worlds and writes the report on a background
+     * thread.
+     *
+     * @param file The file to write the report to
+     * @param logAll Whether to list every tile entity and the most crowded
+     *        entity positions
+     * @return The future completing once the report is written
+     */
+    public static ListenableFuture<?> writeChunks(final File file, boolean logAll) {
+        final List<WorldSnapshot> worlds = new ArrayList<WorldSnapshot>();
+        for (World spongeWorld : Sponge.getGame().getServer().getWorlds()) {
+            worlds.add(new WorldSnapshot((WorldServer) spongeWorld, logAll));
+        }
+        return executor.submit(new Runnable() {
 
-                if (logAll) {
-                    writeChunkCounts(writer, "topEntityColliders", entityCollisionCounts, 20);
+            @Override
+            public void run() {
+                try {
+                    write(file, worlds);
+                } catch (Throwable throwable) {
+                    MinecraftServer.getServer().logSevere("Could not save chunk info report to " + file);
+                    throw Throwables.propagate(throwable);
                 }
+            }
+        });
+    }
 
-                writeChunkCounts(writer, "entitiesByClass", classEntityCounts);
-                writeChunkCounts(writer, "entitiesByChunk", chunkEntityCounts);
-
-                writeChunkCounts(writer, "tilesByClass", classTileCounts);
-                writeChunkCounts(writer, "tilesByChunk", chunkTileCounts);
+    static void write(File file, List<WorldSnapshot> worlds) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
 
-                writer.endObject(); // Dimension
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new FileWriter(file)));
+        try {
+            writer.setIndent("  ");
+            writer.beginArray();
+            for (WorldSnapshot world : worlds) {
+                world.write(writer);
             }
             writer.endArray(); // Dimensions
+        } finally {
             writer.close();
-            fileWriter.close();
-        } catch (Throwable throwable) {
-            MinecraftServer.getServer().logSevere("Could not save chunk info report to " + file);
         }
     }
 
@@ -155,7 +137,7 @@ public int compare(T s1, T s2) {
             if ((max > 0) && (i++ > max)) {
                 break;
             }
-            if (map.get(key) < 5) {
+            if (map.get(key) < MIN_COUNT) {
                 continue;
             }
             writer.beginObject();
@@ -166,5 +148,164 @@ public int compare(T s1, T s2) {
         writer.endArray();
     }
 
+    /**
+     * Counts, for every distinct block position holding an entity, the other
+     * entities within one block of it.
+     *
+     * <p>Entities are bucketed by block position in a single pass, each
+     * position then only has to look at its 27 surrounding buckets instead of
+     * querying the world for every entity.</p>
+     *
+     * @param positions The block positions of the entities, one per entity
+     * @param descriptionIndex The index into descriptions of each distinct
+     *        position
+     * @param descriptions The description of the first entity found at each
+     *        distinct position
+     * @return The neighbour counts keyed by entity description
+     */
+    static TObjectIntHashMap<String> countNeighbours(List<BlockPos> positions, TObjectIntHashMap<BlockPos> descriptionIndex,
+            List<String> descriptions) {
+        TObjectIntHashMap<BlockPos> buckets = new TObjectIntHashMap<BlockPos>();
+        for (BlockPos pos : positions) {
+            buckets.adjustOrPutValue(pos, 1, 1);
+        }
+
+        TObjectIntHashMap<String> counts = new TObjectIntHashMap<String>();
+        for (BlockPos pos : buckets.keySet()) {
+            int neighbours = -1; // The entity itself
+            for (int x = -1; x <= 1; x++) {
+                for (int y = -1; y <= 1; y++) {
+                    for (int z = -1; z <= 1; z++) {
+                        neighbours += buckets.get(pos.add(x, y, z));
+                    }
+                }
+            }
+            if (neighbours >= MIN_COUNT) {
+                counts.put(descriptions.get(descriptionIndex.get(pos)), neighbours);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * The state of a world needed for the report, copied on the calling
+     * thread.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class WorldSnapshot {
+
+        private final boolean logAll;
+        private final String name;
+        private final int dimensionId;
+        private final int players;
+        private final int loadedChunks;
+        private final int activeChunks;
+        private final int entities;
+        private final int tiles;
+        private final TObjectIntHashMap<ChunkCoordIntPair> chunkEntityCounts = new TObjectIntHashMap<ChunkCoordIntPair>();
+        private final TObjectIntHashMap<Class> classEntityCounts = new TObjectIntHashMap<Class>();
+        private final TObjectIntHashMap<ChunkCoordIntPair> chunkTileCounts = new TObjectIntHashMap<ChunkCoordIntPair>();
+        private final TObjectIntHashMap<Class> classTileCounts = new TObjectIntHashMap<Class>();
+        private final List<BlockPos> entityPositions = new ArrayList<BlockPos>();
+        private final TObjectIntHashMap<BlockPos> descriptionIndex = new TObjectIntHashMap<BlockPos>();
+        private final List<String> entityDescriptions = new ArrayList<String>();
+        private final List<TileSnapshot> tileSnapshots = new ArrayList<TileSnapshot>();
+
+        WorldSnapshot(WorldServer world, boolean logAll) {
+            this.logAll = logAll;
+            this.name = world.getSaveHandler().getWorldDirectoryName();
+            this.dimensionId = world.provider.getDimensionId();
+            this.players = world.playerEntities.size();
+            this.loadedChunks = world.theChunkProviderServer.loadedChunks.size();
+            this.activeChunks = world.activeChunkSet.size();
+            this.entities = world.loadedEntityList.size();
+            this.tiles = world.loadedTileEntityList.size();
+
+            // Chunks keep live counts, no need to bucket every entity and tile again
+            for (int i = 0; i < world.theChunkProviderServer.loadedChunks.size(); i++) {
+                Chunk chunk = (Chunk) world.theChunkProviderServer.loadedChunks.get(i);
+                ChunkCoordIntPair chunkCoords = new ChunkCoordIntPair(chunk.xPosition, chunk.zPosition);
+                this.chunkEntityCounts.put(chunkCoords, ((IMixinChunk) chunk).getEntityCount());
+                this.chunkTileCounts.put(chunkCoords, ((IMixinChunk) chunk).getTileEntityCount());
+            }
+
+            for (int i = 0; i < world.loadedEntityList.size(); i++) {
+                Entity entity = (Entity) world.loadedEntityList.get(i);
+                this.classEntityCounts.adjustOrPutValue(entity.getClass(), 1, 1);
+                if (logAll && entity.getBoundingBox() != null) {
+                    BlockPos pos = new BlockPos(GenericMath.floor(entity.posX), GenericMath.floor(entity.posY), GenericMath.floor(entity.posZ));
+                    this.entityPositions.add(pos);
+                    if (!this.descriptionIndex.containsKey(pos)) {
+                        this.descriptionIndex.put(pos, this.entityDescriptions.size());
+                        this.entityDescriptions.add(entity.toString());
+                    }
+                }
+            }
+
+            for (int i = 0; i < world.loadedTileEntityList.size(); i++) {
+                TileEntity tile = (TileEntity) world.loadedTileEntityList.get(i);
+                if (logAll) {
+                    this.tileSnapshots.add(new TileSnapshot(tile));
+                }
+                this.classTileCounts.adjustOrPutValue(tile.getClass(), 1, 1);
+            }
+        }
+
+        void write(JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("name").value(this.name);
+            writer.name("dimensionId").value(this.dimensionId);
+            writer.name("players").value(this.players);
+            writer.name("loadedChunks").value(this.loadedChunks);
+            writer.name("activeChunks").value(this.activeChunks);
+            writer.name("entities").value(this.entities);
+            writer.name("tiles").value(this.tiles);
+
+            writer.name("tiles").beginArray();
+            for (TileSnapshot tile : this.tileSnapshots) {
+                tile.write(writer);
+            }
+            writer.endArray();
+
+            if (this.logAll) {
+                writeChunkCounts(writer, "topEntityColliders", countNeighbours(this.entityPositions, this.descriptionIndex,
+                        this.entityDescriptions), 20);
+            }
+
+            writeChunkCounts(writer, "entitiesByClass", this.classEntityCounts);
+            writeChunkCounts(writer, "entitiesByChunk", this.chunkEntityCounts);
+
+            writeChunkCounts(writer, "tilesByClass", this.classTileCounts);
+            writeChunkCounts(writer, "tilesByChunk", this.chunkTileCounts);
+
+            writer.endObject(); // Dimension
+        }
+    }
+
+    private static final class TileSnapshot {
+
+        private final String type;
+        private final BlockPos pos;
+        private final boolean invalid;
+        private final String block;
+
+        TileSnapshot(TileEntity tile) {
+            this.type = tile.getClass().toString();
+            this.pos = tile.getPos();
+            this.invalid = tile.isInvalid();
+            this.block = "" + tile.getBlockType();
+        }
+
+        void write(JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("type").value(this.type);
+            writer.name("x").value(this.pos.getX());
+            writer.name("y").value(this.pos.getY());
+            writer.name("z").value(this.pos.getZ());
+            writer.name("isInvalid").value(this.invalid);
+            writer.name("block").value(this.block);
+            writer.endObject();
+        }
+    }
 
 }
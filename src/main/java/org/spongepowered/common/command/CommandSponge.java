@@ -27,6 +27,7 @@
 import static org.spongepowered.api.util.command.args.GenericArguments.dimension;
 import static org.spongepowered.api.util.command.args.GenericArguments.firstParsing;
 import static org.spongepowered.api.util.command.args.GenericArguments.flags;
+import static org.spongepowered.api.util.command.args.GenericArguments.integer;
 import static org.spongepowered.api.util.command.args.GenericArguments.literal;
 import static org.spongepowered.api.util.command.args.GenericArguments.optional;
 import static org.spongepowered.api.util.command.args.GenericArguments.seq;
@@ -36,6 +37,9 @@
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
@@ -62,15 +66,20 @@
 import org.spongepowered.common.Sponge;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.interfaces.IMixinWorld;
+import org.spongepowered.common.interfaces.IMixinWorldEntityActivation;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.TimingEntry;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
 
 import java.io.File;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
 
 import javax.annotation.Nullable;
 
@@ -78,6 +87,8 @@
 public class CommandSponge {
     private static final String INDENT = "    ";
     private static final String LONG_INDENT = INDENT + INDENT;
+    private static final int TIMINGS_SUMMARY_PLUGINS = 5;
+    private static final int TIMINGS_SUMMARY_ENTRIES = 10;
 
     private static final Text NEWLINE_TEXT = Texts.of("\n");
     private static final Text SEPARATOR_TEXT = Texts.of(", ");
@@ -94,6 +105,7 @@ public static CommandSpec getCommand() {
         nonFlagChildren.register(getAuditCommand(), "audit");
         nonFlagChildren.register(getHeapCommand(), "heap");
         nonFlagChildren.register(getPluginsCommand(), "plugins");
+        nonFlagChildren.register(getTimingsCommand(), "timings");
         flagChildren.register(getChunksCommand(), "chunks");
         flagChildren.register(getConfigCommand(), "config");
         flagChildren.register(getReloadCommand(), "reload"); // TODO: Should these two be subcommands of config, and what is now config be set?
@@ -108,7 +120,8 @@ INDENT, title("reload"), LONG_INDENT, "Reloads a global, dimension, or world con
                         INDENT, title("save"), LONG_INDENT, "Saves a global, dimension, or world config\n",
                         INDENT, title("version"), LONG_INDENT, "Prints current Sponge version\n",
                         INDENT, title("audit"), LONG_INDENT, "Audit mixin classes for implementation",
-                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins"))
+                        INDENT, title("plugins"), LONG_INDENT, "List currently installed plugins\n",
+                        INDENT, title("timings"), LONG_INDENT, "Time entities, tile entities, block updates, event handlers and tasks"))
                 .arguments(firstParsing(nonFlagChildren, flags()
                         .flag("-global", "g")
                         .valueFlag(world(Texts.of("world"), Sponge.getGame()), "-world", "w")
@@ -185,11 +198,32 @@ private static CommandSpec getChunksCommand() {
                     public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
                         CommandResult res = super.execute(src, args);
                         if (args.hasAny("dump")) {
-                            File file = new File(new File(new File("."), "chunk-dumps"),
+                            final File file = new File(new File(new File("."), "chunk-dumps"),
                                     "chunk-info-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + "-server.txt");
                             src.sendMessage(Texts.of("Writing chunk info to: ", file));
-                            ChunkSaveHelper.writeChunks(file, args.hasAny("dump-all"));
-                            src.sendMessage(Texts.of("Chunk info complete"));
+                            final CommandSource source = src;
+                            Futures.addCallback(ChunkSaveHelper.writeChunks(file, args.hasAny("dump-all")), new FutureCallback<Object>() {
+
+                                @Override
+                                public void onSuccess(Object result) {
+                                    reply(Texts.of("Chunk info complete"));
+                                }
+
+                                @Override
+                                public void onFailure(Throwable t) {
+                                    reply(Texts.of(TextColors.RED, "Could not write chunk info to: ", file));
+                                }
+
+                                private void reply(final Text message) {
+                                    MinecraftServer.getServer().addScheduledTask(new Runnable() {
+
+                                        @Override
+                                        public void run() {
+                                            source.sendMessage(message);
+                                        }
+                                    });
+                                }
+                            });
                         }
                         return res;
                     }
@@ -232,7 +266,7 @@ protected Text value(Object text) {
                     }
 
                     protected Text getChunksInfo(WorldServer worldserver) {
-                        return Texts.of(NEWLINE_TEXT, key("Dimension: "), value(worldserver.provider.getDimensionId()), NEWLINE_TEXT,
+                        Text info = Texts.of(NEWLINE_TEXT, key("Dimension: "), value(worldserver.provider.getDimensionId()), NEWLINE_TEXT,
                                 key("Loaded chunks: "), value(worldserver.theChunkProviderServer.getLoadedChunkCount()), NEWLINE_TEXT,
                                 key("Active chunks: "), value(worldserver.activeChunkSet.size()), NEWLINE_TEXT,
                                 key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
@@ -240,6 +274,12 @@ protected Text getChunksInfo(WorldServer worldserver) {
                                 key("Removed Entities:"), value(worldserver.unloadedEntityList.size()), NEWLINE_TEXT,
                                 key("Removed Tile Entities: "), value(worldserver.tileEntitiesToBeRemoved), NEWLINE_TEXT
                         );
+                        if (worldserver instanceof IMixinWorldEntityActivation) {
+                            IMixinWorldEntityActivation activation = (IMixinWorldEntityActivation) worldserver;
+                            info = Texts.of(info, key("Active Entities: "), value(activation.getActiveEntityCount()), NEWLINE_TEXT,
+                                    key("Inactive Entities: "), value(activation.getInactiveEntityCount()), NEWLINE_TEXT);
+                        }
+                        return info;
                     }
                 })
                 .build();
@@ -324,6 +364,74 @@ public CommandResult execute(CommandSource src, CommandContext args) throws Comm
     }
 
 
+    private static CommandSpec getTimingsCommand() {
+        return CommandSpec.builder()
+                .description(Texts.of("Collect and report timings for parts of the server tick"))
+                .arguments(optional(seq(string(Texts.of("action")), optional(integer(Texts.of("interval"))))))
+                .permission("sponge.command.timings")
+                .executor(new CommandExecutor() {
+                    @Override
+                    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+                        final String action = args.<String>getOne("action").or("summary");
+                        if (action.equalsIgnoreCase("on")) {
+                            SpongeTimings.setMode(SpongeTimings.Mode.ALWAYS, 1);
+                            src.sendMessage(Texts.of("Timing every tick"));
+                        } else if (action.equalsIgnoreCase("sample")) {
+                            final int interval = args.<Integer>getOne("interval").or(20);
+                            SpongeTimings.setMode(SpongeTimings.Mode.SAMPLED, interval);
+                            src.sendMessage(Texts.of("Timing one in every ", title(String.valueOf(interval)), " ticks"));
+                        } else if (action.equalsIgnoreCase("off")) {
+                            SpongeTimings.setMode(SpongeTimings.Mode.OFF, 1);
+                            src.sendMessage(Texts.of("Timings disabled"));
+                        } else if (action.equalsIgnoreCase("reset")) {
+                            SpongeTimings.reset();
+                            src.sendMessage(Texts.of("Timings reset"));
+                        } else if (action.equalsIgnoreCase("report")) {
+                            File file = new File(new File(new File("."), "timings"),
+                                    "timings-" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".txt");
+                            src.sendMessage(Texts.of("Writing timings to: ", file));
+                            try {
+                                SpongeTimings.writeReport(file);
+                            } catch (IOException e) {
+                                throw new CommandException(Texts.of("Could not write timings to ", file), e);
+                            }
+                            src.sendMessage(Texts.of("Timings report complete"));
+                        } else if (action.equalsIgnoreCase("summary")) {
+                            src.sendMessage(getTimingsSummary());
+                        } else {
+                            throw new CommandException(Texts.of("Unknown action ", action, ", expected on, sample, off, reset or report"));
+                        }
+                        return CommandResult.success();
+                    }
+                })
+                .build();
+    }
+
+    private static Text getTimingsSummary() {
+        final long ticks = SpongeTimings.getTimedTicks();
+        TextBuilder builder = Texts.builder().append(Texts.of("Mode: ", title(SpongeTimings.getMode().name()), ", timed ticks: ",
+                title(String.valueOf(ticks)), ", average tick: ",
+                title(String.format("%.3f ms", ticks == 0 ? 0 : SpongeTimings.getTimedTickNanos() / 1e6 / ticks))));
+        builder.append(NEWLINE_TEXT, Texts.of(TextColors.GOLD, "Plugins:"));
+        int count = 0;
+        for (Map.Entry<String, Long> total : SpongeTimings.getTotalsByOwner()) {
+            if (count++ == TIMINGS_SUMMARY_PLUGINS) {
+                break;
+            }
+            builder.append(NEWLINE_TEXT, Texts.of(INDENT, title(total.getKey()), String.format(" %.3f ms", total.getValue() / 1e6)));
+        }
+        builder.append(NEWLINE_TEXT, Texts.of(TextColors.GOLD, "Most expensive:"));
+        count = 0;
+        for (TimingEntry entry : SpongeTimings.getEntries()) {
+            if (count++ == TIMINGS_SUMMARY_ENTRIES) {
+                break;
+            }
+            builder.append(NEWLINE_TEXT, Texts.of(INDENT, title(entry.getType().getSimpleName()), " (", entry.getPhase().getName(), ", ",
+                    entry.getOwnerId(), ")", String.format(" %.3f ms over %d calls", entry.getTotalNanos() / 1e6, entry.getCount())));
+        }
+        return builder.build();
+    }
+
     private static CommandSpec getVersionCommand() {
         return CommandSpec.builder()
                 .description(Texts.of("Display Sponge's current version"))
@@ -0,0 +1,224 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.configuration;
+
+import org.spongepowered.common.entity.SpongeEntityCategory;
+
+/**
+ * An immutable view of the settings that apply to a world, resolved once
+ * from the world, dimension and global configs. Hot paths read these
+ * fields instead of walking the configs on every call.
+ */
+public final class ActiveConfigSnapshot {
+
+    private final SpongeConfig<?> config;
+    private final int version;
+    private final String configName;
+
+    private final boolean chunkLoadLogging;
+    private final boolean chunkUnloadLogging;
+    private final boolean entitySpawnLogging;
+    private final boolean entityDespawnLogging;
+    private final boolean entityDeathLogging;
+    private final boolean logWithStackTraces;
+    private final boolean logEntityCollisionChecks;
+    private final boolean logEntitySpeedRemoval;
+
+    private final int maxBoundingBoxSize;
+    private final int maxSpeed;
+    private final int maxCollisionSize;
+    private final int humanPlayerListRemoveDelay;
+    private final int humanTrackingRange;
+    private final int humanUpdateFrequency;
+    private final int[] chunkEntityCaps = new int[SpongeEntityCategory.values().length];
+
+    private final int creatureActivationRange;
+    private final int monsterActivationRange;
+    private final int aquaticActivationRange;
+    private final int ambientActivationRange;
+    private final int miscActivationRange;
+
+    private final boolean infiniteWaterSource;
+    private final boolean flowingLavaDecay;
+
+    public ActiveConfigSnapshot(SpongeConfig<?> config, int version) {
+        this.config = config;
+        this.version = version;
+        this.configName = config.getConfigName();
+
+        final SpongeConfig.ConfigBase base = config.getConfig();
+        final SpongeConfig.LoggingCategory logging = base.getLogging();
+        this.chunkLoadLogging = logging.chunkLoadLogging();
+        this.chunkUnloadLogging = logging.chunkUnloadLogging();
+        this.entitySpawnLogging = logging.entitySpawnLogging();
+        this.entityDespawnLogging = logging.entityDespawnLogging();
+        this.entityDeathLogging = logging.entityDeathLogging();
+        this.logWithStackTraces = logging.logWithStackTraces();
+        this.logEntityCollisionChecks = logging.logEntityCollisionChecks();
+        this.logEntitySpeedRemoval = logging.logEntitySpeedRemoval();
+
+        final SpongeConfig.EntityCategory entity = base.getEntity();
+        this.maxBoundingBoxSize = entity.getMaxBoundingBoxSize();
+        this.maxSpeed = entity.getMaxSpeed();
+        this.maxCollisionSize = entity.getMaxCollisionSize();
+        this.humanPlayerListRemoveDelay = Math.max(0, Math.min(entity.getHumanPlayerListRemoveDelay(), 100));
+        this.humanTrackingRange = Math.max(1, entity.getHumanTrackingRange());
+        this.humanUpdateFrequency = Math.max(1, entity.getHumanUpdateFrequency());
+        this.chunkEntityCaps[SpongeEntityCategory.MONSTER.ordinal()] = entity.getChunkMonsterCap();
+        this.chunkEntityCaps[SpongeEntityCategory.CREATURE.ordinal()] = entity.getChunkCreatureCap();
+        this.chunkEntityCaps[SpongeEntityCategory.AQUATIC.ordinal()] = entity.getChunkAquaticCap();
+        this.chunkEntityCaps[SpongeEntityCategory.AMBIENT.ordinal()] = entity.getChunkAmbientCap();
+        this.chunkEntityCaps[SpongeEntityCategory.ITEM.ordinal()] = entity.getChunkItemCap();
+
+        final SpongeConfig.EntityActivationRangeCategory activationRange = base.getEntityActivationRange();
+        this.creatureActivationRange = activationRange.getCreatureActivationRange();
+        this.monsterActivationRange = activationRange.getMonsterActivationRange();
+        this.aquaticActivationRange = activationRange.getAquaticActivationRange();
+        this.ambientActivationRange = activationRange.getAmbientActivationRange();
+        this.miscActivationRange = activationRange.getMiscActivationRange();
+
+        final SpongeConfig.WorldCategory world = base.getWorld();
+        this.infiniteWaterSource = world.hasInfiniteWaterSource();
+        this.flowingLavaDecay = world.hasFlowingLavaDecay();
+    }
+
+    /**
+     * Gets the config these settings were resolved from.
+     *
+     * @return The resolved config
+     */
+    public SpongeConfig<?> getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Gets the {@link SpongeConfig#getVersion() config version} this
+     * snapshot was taken at.
+     *
+     * @return The config version
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    public String getConfigName() {
+        return this.configName;
+    }
+
+    public boolean chunkLoadLogging() {
+        return this.chunkLoadLogging;
+    }
+
+    public boolean chunkUnloadLogging() {
+        return this.chunkUnloadLogging;
+    }
+
+    public boolean entitySpawnLogging() {
+        return this.entitySpawnLogging;
+    }
+
+    public boolean entityDespawnLogging() {
+        return this.entityDespawnLogging;
+    }
+
+    public boolean entityDeathLogging() {
+        return this.entityDeathLogging;
+    }
+
+    public boolean logWithStackTraces() {
+        return this.logWithStackTraces;
+    }
+
+    public boolean logEntityCollisionChecks() {
+        return this.logEntityCollisionChecks;
+    }
+
+    public boolean logEntitySpeedRemoval() {
+        return this.logEntitySpeedRemoval;
+    }
+
+    public int getMaxBoundingBoxSize() {
+        return this.maxBoundingBoxSize;
+    }
+
+    public int getMaxSpeed() {
+        return this.maxSpeed;
+    }
+
+    public int getMaxCollisionSize() {
+        return this.maxCollisionSize;
+    }
+
+    public int getHumanPlayerListRemoveDelay() {
+        return this.humanPlayerListRemoveDelay;
+    }
+
+    public int getHumanTrackingRange() {
+        return this.humanTrackingRange;
+    }
+
+    public int getHumanUpdateFrequency() {
+        return this.humanUpdateFrequency;
+    }
+
+    /**
+     * Gets the number of entities of a category one chunk may hold before
+     * further spawns are denied.
+     *
+     * @param category The entity category
+     * @return The cap, 0 or less if there is none
+     */
+    public int getChunkEntityCap(SpongeEntityCategory category) {
+        return this.chunkEntityCaps[category.ordinal()];
+    }
+
+    public int getCreatureActivationRange() {
+        return this.creatureActivationRange;
+    }
+
+    public int getMonsterActivationRange() {
+        return this.monsterActivationRange;
+    }
+
+    public int getAquaticActivationRange() {
+        return this.aquaticActivationRange;
+    }
+
+    public int getAmbientActivationRange() {
+        return this.ambientActivationRange;
+    }
+
+    public int getMiscActivationRange() {
+        return this.miscActivationRange;
+    }
+
+    public boolean hasInfiniteWaterSource() {
+        return this.infiniteWaterSource;
+    }
+
+    public boolean hasFlowingLavaDecay() {
+        return this.flowingLavaDecay;
+    }
+}
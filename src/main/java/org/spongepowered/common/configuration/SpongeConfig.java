@@ -26,7 +26,6 @@
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
@@ -42,6 +41,7 @@
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.spongepowered.common.util.IpSet;
+import org.spongepowered.common.util.IpSetTrie;
 
 import java.io.File;
 import java.io.IOException;
@@ -49,6 +49,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
@@ -74,6 +75,8 @@ public enum Type {
     public static final String DEBUG_DUMP_CHUNKS_ON_DEADLOCK = "dump-chunks-on-deadlock";
     public static final String DEBUG_DUMP_HEAP_ON_DEADLOCK = "dump-heap-on-deadlock";
     public static final String DEBUG_DUMP_THREADS_ON_WARN = "dump-threads-on-warn";
+    public static final String DEBUG_WATCHDOG_WARN_TIMEOUT = "watchdog-warn-timeout";
+    public static final String DEBUG_WATCHDOG_DEADLOCK_TIMEOUT = "watchdog-deadlock-timeout";
 
     // ENTITY
     public static final String ENTITY_MAX_BOUNDING_BOX_SIZE = "max-bounding-box-size";
@@ -87,6 +90,13 @@ public enum Type {
     public static final String ENTITY_ACTIVATION_RANGE_AMBIENT = "ambient-activation-range";
     public static final String ENTITY_ACTIVATION_RANGE_MISC = "misc-activation-range";
     public static final String ENTITY_HUMAN_PLAYER_LIST_REMOVE_DELAY = "human-player-list-remove-delay";
+    public static final String ENTITY_HUMAN_TRACKING_RANGE = "human-tracking-range";
+    public static final String ENTITY_HUMAN_UPDATE_FREQUENCY = "human-update-frequency";
+    public static final String ENTITY_CHUNK_MONSTER_CAP = "max-monsters-per-chunk";
+    public static final String ENTITY_CHUNK_CREATURE_CAP = "max-creatures-per-chunk";
+    public static final String ENTITY_CHUNK_AQUATIC_CAP = "max-aquatic-per-chunk";
+    public static final String ENTITY_CHUNK_AMBIENT_CAP = "max-ambient-per-chunk";
+    public static final String ENTITY_CHUNK_ITEM_CAP = "max-items-per-chunk";
 
     // BUNGEECORD
     public static final String BUNGEECORD_IP_FORWARDING = "ip-forwarding";
@@ -94,6 +104,10 @@ public enum Type {
     // GENERAL
     public static final String GENERAL_DISABLE_WARNINGS = "disable-warnings";
     public static final String GENERAL_CHUNK_LOAD_OVERRIDE = "chunk-load-override";
+    public static final String GENERAL_PARALLEL_SPAWN_PREPARATION = "parallel-spawn-preparation";
+    public static final String GENERAL_SPAWN_PREPARATION_THREADS = "spawn-preparation-threads";
+    public static final String GENERAL_STATUS_PING_LIMIT = "status-ping-limit";
+    public static final String GENERAL_TEXT_XML_PARSE_CACHE_SIZE = "text-xml-parse-cache-size";
 
     // LOGGING
     public static final String LOGGING_CHUNK_LOAD = "chunk-load";
@@ -112,6 +126,7 @@ public enum Type {
     // WORLD
     public static final String WORLD_INFINITE_WATER_SOURCE = "infinite-water-source";
     public static final String WORLD_FLOWING_LAVA_DECAY = "flowing-lava-decay";
+    public static final String WORLD_TELEPORT_HELPER_LOAD_CHUNKS = "teleport-helper-load-chunks";
 
     private static final String HEADER = "1.0\n"
             + "\n"
@@ -121,6 +136,9 @@ public enum Type {
             + "# IRC: #sponge @ irc.esper.net ( http://webchat.esper.net/?channel=sponge )\n"
             + "# Forums: https://forums.spongepowered.org/\n";
 
+    // Bumped whenever any config is reloaded or saved, so resolved snapshots know to refresh
+    private static final AtomicInteger VERSION = new AtomicInteger();
+
     private Type type;
     private HoconConfigurationLoader loader;
     private CommentedConfigurationNode root = SimpleCommentedConfigurationNode.root(ConfigurationOptions.defaults()
@@ -168,10 +186,21 @@ public T getConfig() {
         return this.configBase;
     }
 
+    /**
+     * Gets the current config version, which changes every time any config
+     * is reloaded or saved.
+     *
+     * @return The config version
+     */
+    public static int getVersion() {
+        return VERSION.get();
+    }
+
     public void save() {
         try {
             this.configMapper.serialize(this.root.getNode(this.modId));
             this.loader.save(this.root);
+            VERSION.incrementAndGet();
         } catch (IOException e) {
             LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
         } catch (ObjectMappingException e) {
@@ -186,6 +215,7 @@ public void reload() {
                             TypeSerializers.getDefaultSerializers().newChild().registerType(TypeToken.of(IpSet.class), new IpSet.IpSetSerializer()))
                     .setHeader(HEADER));
             this.configBase = this.configMapper.populate(this.root.getNode(this.modId));
+            VERSION.incrementAndGet();
         } catch (IOException e) {
             LogManager.getLogger().error(ExceptionUtils.getStackTrace(e));
         } catch (ObjectMappingException e) {
@@ -230,6 +260,9 @@ public static class GlobalConfig extends ConfigBase {
 
         @Setting("ip-sets")
         private Map<String, List<IpSet>> ipSets = new HashMap<String, List<IpSet>>();
+        // Compiled from the ip-sets map above, rebuilt when a load replaces it
+        private Map<String, List<IpSet>> compiledFrom;
+        private ImmutableMap<String, Predicate<InetAddress>> compiledIpSets;
 
         @Setting(value = MODULE_BUNGEECORD)
         private BungeeCordCategory bungeeCord = new BungeeCordCategory();
@@ -250,18 +283,32 @@ public ModuleCategory getModules() {
             return this.mixins;
         }
 
+        /**
+         * Gets the configured IP sets, each compiled into an
+         * {@link IpSetTrie} matching an address within any of its ranges.
+         *
+         * @return The IP sets by name
+         */
         public Map<String, Predicate<InetAddress>> getIpSets() {
-            return ImmutableMap.copyOf(Maps.transformValues(this.ipSets, new Function<List<IpSet>, Predicate<InetAddress>>() {
-                @Nullable
-                @Override
-                public Predicate<InetAddress> apply(List<IpSet> input) {
-                    return Predicates.and(input);
-                }
-            }));
+            final Map<String, List<IpSet>> ipSets = this.ipSets;
+            ImmutableMap<String, Predicate<InetAddress>> compiled = this.compiledIpSets;
+            if (compiled == null || this.compiledFrom != ipSets) {
+                compiled = ImmutableMap.copyOf(Maps.transformValues(ipSets, new Function<List<IpSet>, Predicate<InetAddress>>() {
+                    @Nullable
+                    @Override
+                    public Predicate<InetAddress> apply(List<IpSet> input) {
+                        return IpSetTrie.of(input);
+                    }
+                }));
+                this.compiledIpSets = compiled;
+                this.compiledFrom = ipSets;
+            }
+            return compiled;
         }
 
+        @Nullable
         public Predicate<InetAddress> getIpSet(String name) {
-            return this.ipSets.containsKey(name) ? Predicates.<InetAddress>and(this.ipSets.get(name)) : null;
+            return getIpSets().get(name);
         }
     }
 
@@ -376,6 +423,12 @@ public static class DebugCategory extends Category {
         private boolean dumpHeapOnDeadlock = false;
         @Setting(value = DEBUG_DUMP_THREADS_ON_WARN, comment = "Dump the server thread on deadlock warning")
         private boolean dumpThreadsOnWarn = false;
+        @Setting(value = DEBUG_WATCHDOG_WARN_TIMEOUT,
+                comment = "Seconds a single server tick may take before the watchdog logs a warning. Set to 0 to disable")
+        private int watchdogWarnTimeout = 10;
+        @Setting(value = DEBUG_WATCHDOG_DEADLOCK_TIMEOUT,
+                comment = "Seconds a single server tick may take before the watchdog treats it as a deadlock. Set to 0 to disable")
+        private int watchdogDeadlockTimeout = 60;
 
         public boolean isEnableThreadContentionMonitoring() {
             return this.enableThreadContentionMonitoring;
@@ -408,6 +461,22 @@ public boolean dumpThreadsOnWarn() {
         public void setDumpThreadsOnWarn(boolean dumpThreadsOnWarn) {
             this.dumpThreadsOnWarn = dumpThreadsOnWarn;
         }
+
+        public int getWatchdogWarnTimeout() {
+            return this.watchdogWarnTimeout;
+        }
+
+        public void setWatchdogWarnTimeout(int watchdogWarnTimeout) {
+            this.watchdogWarnTimeout = watchdogWarnTimeout;
+        }
+
+        public int getWatchdogDeadlockTimeout() {
+            return this.watchdogDeadlockTimeout;
+        }
+
+        public void setWatchdogDeadlockTimeout(int watchdogDeadlockTimeout) {
+            this.watchdogDeadlockTimeout = watchdogDeadlockTimeout;
+        }
     }
 
     @ConfigSerializable
@@ -418,6 +487,18 @@ public static class GeneralCategory extends Category {
         @Setting(value = GENERAL_CHUNK_LOAD_OVERRIDE,
                 comment = "Forces Chunk Loading on provide requests (speedup for mods that don't check if a chunk is loaded)")
         private boolean chunkLoadOverride = false;
+        @Setting(value = GENERAL_PARALLEL_SPAWN_PREPARATION,
+                comment = "Read and decompress the spawn area chunks of all worlds on a worker pool during startup")
+        private boolean parallelSpawnPreparation = false;
+        @Setting(value = GENERAL_SPAWN_PREPARATION_THREADS,
+                comment = "Number of worker threads used for parallel spawn preparation. Set to 0 to use the number of available processors")
+        private int spawnPreparationThreads = 0;
+        @Setting(value = GENERAL_STATUS_PING_LIMIT,
+                comment = "Number of server list pings accepted from one address per second, further pings are dropped. Set to 0 to disable")
+        private int statusPingLimit = 0;
+        @Setting(value = GENERAL_TEXT_XML_PARSE_CACHE_SIZE,
+                comment = "Number of parsed TextXML messages kept to skip parsing them again. Set to 0 to disable")
+        private int textXmlParseCacheSize = 256;
 
         public boolean disableWarnings() {
             return this.disableWarnings;
@@ -434,6 +515,38 @@ public boolean chunkLoadOverride() {
         public void setChunkLoadOverride(boolean chunkLoadOverride) {
             this.chunkLoadOverride = chunkLoadOverride;
         }
+
+        public boolean parallelSpawnPreparation() {
+            return this.parallelSpawnPreparation;
+        }
+
+        public void setParallelSpawnPreparation(boolean parallelSpawnPreparation) {
+            this.parallelSpawnPreparation = parallelSpawnPreparation;
+        }
+
+        public int getSpawnPreparationThreads() {
+            return this.spawnPreparationThreads;
+        }
+
+        public void setSpawnPreparationThreads(int spawnPreparationThreads) {
+            this.spawnPreparationThreads = Math.max(0, spawnPreparationThreads);
+        }
+
+        public int getStatusPingLimit() {
+            return this.statusPingLimit;
+        }
+
+        public void setStatusPingLimit(int statusPingLimit) {
+            this.statusPingLimit = Math.max(0, statusPingLimit);
+        }
+
+        public int getTextXmlParseCacheSize() {
+            return this.textXmlParseCacheSize;
+        }
+
+        public void setTextXmlParseCacheSize(int size) {
+            this.textXmlParseCacheSize = Math.max(0, size);
+        }
     }
 
     @ConfigSerializable
@@ -454,6 +567,29 @@ public static class EntityCategory extends Category {
         @Setting(value = ENTITY_HUMAN_PLAYER_LIST_REMOVE_DELAY,
                 comment = "Number of ticks before the fake player entry of a human is removed from the tab list (range of 0 to 100 ticks).")
         private int humanPlayerListRemoveDelay = 10;
+        @Setting(value = ENTITY_HUMAN_TRACKING_RANGE, comment = "Distance in blocks up to which players are sent human entities.")
+        private int humanTrackingRange = 512;
+        @Setting(value = ENTITY_HUMAN_UPDATE_FREQUENCY, comment = "Number of ticks between movement updates sent for human entities.")
+        private int humanUpdateFrequency = 2;
+        @Setting(value = ENTITY_CHUNK_MONSTER_CAP,
+                comment = "Number of monsters in one chunk before further monsters are denied from spawning there naturally or from spawners. "
+                        + "Set to 0 to disable")
+        private int chunkMonsterCap = 0;
+        @Setting(value = ENTITY_CHUNK_CREATURE_CAP,
+                comment = "Number of animals in one chunk before further animals are denied from spawning there naturally or from spawners. "
+                        + "Set to 0 to disable")
+        private int chunkCreatureCap = 0;
+        @Setting(value = ENTITY_CHUNK_AQUATIC_CAP,
+                comment = "Number of water mobs in one chunk before further water mobs are denied from spawning there naturally or from spawners. "
+                        + "Set to 0 to disable")
+        private int chunkAquaticCap = 0;
+        @Setting(value = ENTITY_CHUNK_AMBIENT_CAP,
+                comment = "Number of ambient mobs in one chunk before further ambient mobs are denied from spawning there naturally or from spawners. "
+                        + "Set to 0 to disable")
+        private int chunkAmbientCap = 0;
+        @Setting(value = ENTITY_CHUNK_ITEM_CAP,
+                comment = "Number of dropped items in one chunk before mobs dying there drop no further items. Set to 0 to disable")
+        private int chunkItemCap = 0;
 
         public int getMaxBoundingBoxSize() {
             return this.maxBoundingBoxSize;
@@ -502,6 +638,62 @@ public int getHumanPlayerListRemoveDelay() {
         public void setHumanPlayerListRemoveDelay(int delay) {
             this.humanPlayerListRemoveDelay = Math.max(0, Math.min(delay, 100));
         }
+
+        public int getHumanTrackingRange() {
+            return this.humanTrackingRange;
+        }
+
+        public void setHumanTrackingRange(int range) {
+            this.humanTrackingRange = Math.max(1, range);
+        }
+
+        public int getHumanUpdateFrequency() {
+            return this.humanUpdateFrequency;
+        }
+
+        public void setHumanUpdateFrequency(int frequency) {
+            this.humanUpdateFrequency = Math.max(1, frequency);
+        }
+
+        public int getChunkMonsterCap() {
+            return this.chunkMonsterCap;
+        }
+
+        public void setChunkMonsterCap(int chunkMonsterCap) {
+            this.chunkMonsterCap = chunkMonsterCap;
+        }
+
+        public int getChunkCreatureCap() {
+            return this.chunkCreatureCap;
+        }
+
+        public void setChunkCreatureCap(int chunkCreatureCap) {
+            this.chunkCreatureCap = chunkCreatureCap;
+        }
+
+        public int getChunkAquaticCap() {
+            return this.chunkAquaticCap;
+        }
+
+        public void setChunkAquaticCap(int chunkAquaticCap) {
+            this.chunkAquaticCap = chunkAquaticCap;
+        }
+
+        public int getChunkAmbientCap() {
+            return this.chunkAmbientCap;
+        }
+
+        public void setChunkAmbientCap(int chunkAmbientCap) {
+            this.chunkAmbientCap = chunkAmbientCap;
+        }
+
+        public int getChunkItemCap() {
+            return this.chunkItemCap;
+        }
+
+        public void setChunkItemCap(int chunkItemCap) {
+            this.chunkItemCap = chunkItemCap;
+        }
     }
 
     @ConfigSerializable
@@ -689,6 +881,9 @@ public static class WorldCategory extends Category {
         private boolean infiniteWaterSource = false;
         @Setting(value = WORLD_FLOWING_LAVA_DECAY, comment = "Lava behaves like vanilla water when source block is removed")
         private boolean flowingLavaDecay = false;
+        @Setting(value = WORLD_TELEPORT_HELPER_LOAD_CHUNKS,
+                comment = "Load or generate missing chunks when searching safe teleport locations. If disabled, only loaded chunks are searched")
+        private boolean teleportHelperLoadChunks = true;
 
         public boolean hasInfiniteWaterSource() {
             return this.infiniteWaterSource;
@@ -705,6 +900,14 @@ public boolean hasFlowingLavaDecay() {
         public void setFlowingLavaDecay(boolean flowingLavaDecay) {
             this.flowingLavaDecay = flowingLavaDecay;
         }
+
+        public boolean teleportHelperLoadsChunks() {
+            return this.teleportHelperLoadChunks;
+        }
+
+        public void setTeleportHelperLoadChunks(boolean teleportHelperLoadChunks) {
+            this.teleportHelperLoadChunks = teleportHelperLoadChunks;
+        }
     }
 
     @ConfigSerializable
@@ -26,7 +26,9 @@
 
 import com.google.common.base.Optional;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.interfaces.IMixinNBTBase;
 
 /**
  * A standard utility class for interacting and manipulating {@link ItemStack}s
@@ -56,6 +58,8 @@ public class NbtDataUtil {
     public static final byte TAG_COMPOUND = 10;
     public static final byte TAG_INT_ARRAY = 11;
 
+    private static final long HASH_MULTIPLIER = 0x9e3779b97f4a7c15L;
+
     // These methods are provided as API like getters since the internal ItemStack does return nullable NBTTagCompounds.
 
     /**
@@ -112,4 +116,65 @@ public static NBTTagCompound getOrCreateSubCompound(NBTTagCompound mainCompound,
         }
         return mainCompound.getCompoundTag(key);
     }
+
+    /**
+     * Gets a 64-bit hash of the contents of the tag. Equal tags have equal
+     * hashes, and compound and list tags cache theirs until they are
+     * modified.
+     *
+     * @param tag The tag to hash
+     * @return The content hash
+     */
+    public static long getContentHash(NBTBase tag) {
+        return ((IMixinNBTBase) tag).getContentHash();
+    }
+
+    /**
+     * Gets the content hash of a tag that doesn't hold other tags.
+     *
+     * @param tag The tag to hash
+     * @return The content hash
+     */
+    public static long getPrimitiveHash(NBTBase tag) {
+        return mixHash(tag.getId() * 31L + tag.hashCode());
+    }
+
+    /**
+     * Adds an entry of a compound tag to its hash. Entries are summed, so
+     * the hash doesn't depend on the order they are added in.
+     *
+     * @param hash The hash of the entries so far
+     * @param key The key of the entry
+     * @param valueHash The content hash of the value
+     * @return The combined hash
+     */
+    public static long addCompoundEntry(long hash, String key, long valueHash) {
+        return hash + mixHash(key.hashCode() * HASH_MULTIPLIER + valueHash);
+    }
+
+    /**
+     * Adds an element of a list tag to its hash, depending on the position
+     * of the element.
+     *
+     * @param hash The hash of the previous elements
+     * @param elementHash The content hash of the element
+     * @return The combined hash
+     */
+    public static long addListElement(long hash, long elementHash) {
+        return hash * HASH_MULTIPLIER + elementHash;
+    }
+
+    /**
+     * Spreads the bits of a hash over the whole long, so that hashes can be
+     * combined by addition or multiplication without clustering.
+     *
+     * @param hash The hash to mix
+     * @return The mixed hash
+     */
+    public static long mixHash(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
 }
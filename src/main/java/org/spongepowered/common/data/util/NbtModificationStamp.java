@@ -0,0 +1,68 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import javax.annotation.Nullable;
+
+/**
+ * The modification stamp of an NBT tag. Once linked to the stamp of the tag
+ * holding it, every modification also changes the stamps of all tags it is
+ * nested in.
+ */
+public final class NbtModificationStamp {
+
+    @Nullable private NbtModificationStamp parent;
+    private int count;
+
+    public int get() {
+        return this.count;
+    }
+
+    @Nullable
+    public NbtModificationStamp getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Links this stamp to the stamp of the tag now holding the tag. The
+     * previous parent is marked modified, as it no longer hears about the
+     * modifications of the tag.
+     *
+     * @param parent The new parent, or null
+     */
+    public void setParent(@Nullable NbtModificationStamp parent) {
+        if (this.parent != null && this.parent != parent) {
+            this.parent.markModified();
+        }
+        this.parent = parent;
+    }
+
+    public void markModified() {
+        for (NbtModificationStamp stamp = this; stamp != null; stamp = stamp.parent) {
+            stamp.count++;
+        }
+    }
+
+}
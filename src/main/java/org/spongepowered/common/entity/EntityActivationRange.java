@@ -0,0 +1,200 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.IProjectile;
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraft.entity.boss.EntityDragonPart;
+import net.minecraft.entity.boss.EntityWither;
+import net.minecraft.entity.effect.EntityWeatherEffect;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityFallingBlock;
+import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.entity.projectile.EntityFishHook;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.configuration.ActiveConfigSnapshot;
+import org.spongepowered.common.interfaces.IMixinEntity;
+import org.spongepowered.common.util.SpongeHooks;
+
+/**
+ * Decides which entities are close enough to a player to be fully ticked.
+ * Entities outside the activation range of their type only get
+ * {@link IMixinEntity#inactiveTick()}.
+ */
+public final class EntityActivationRange {
+
+    public static final byte MONSTER = 1;
+    public static final byte CREATURE = 2;
+    public static final byte AQUATIC = 3;
+    public static final byte AMBIENT = 4;
+    public static final byte MISC = 5;
+
+    // Inactive entities still get a full tick this often so they are never frozen in place
+    private static final int INACTIVE_WAKEUP_INTERVAL = 20;
+
+    private EntityActivationRange() {
+    }
+
+    /**
+     * Gets the activation type of the entity, derived from its
+     * {@link SpongeEntityCategory}. Players and items fall under misc.
+     */
+    public static byte initializeEntityActivationType(Entity entity) {
+        switch (SpongeEntityCategory.of(entity)) {
+            case MONSTER:
+                return MONSTER;
+            case CREATURE:
+                return CREATURE;
+            case AQUATIC:
+                return AQUATIC;
+            case AMBIENT:
+                return AMBIENT;
+            default:
+                return MISC;
+        }
+    }
+
+    /**
+     * Gets whether the entity is always active, regardless of how far it
+     * is from a player.
+     */
+    public static boolean initializeEntityActivationState(Entity entity) {
+        return entity instanceof EntityPlayer
+                || entity instanceof IProjectile
+                || entity instanceof EntityFireball
+                || entity instanceof EntityFishHook
+                || entity instanceof EntityDragon
+                || entity instanceof EntityDragonPart
+                || entity instanceof EntityWither
+                || entity instanceof EntityWeatherEffect
+                || entity instanceof EntityTNTPrimed
+                || entity instanceof EntityFallingBlock
+                || entity instanceof EntityFireworkRocket
+                || entity instanceof EntityEnderCrystal;
+    }
+
+    /**
+     * Marks every entity within its activation range of a player as active
+     * for the current tick of the world.
+     *
+     * @param world The world to activate entities in
+     */
+    public static void activateEntities(World world) {
+        final ActiveConfigSnapshot config = SpongeHooks.getActiveConfigSnapshot(world);
+        final int maxRange = Math.max(Math.max(Math.max(config.getMonsterActivationRange(), config.getCreatureActivationRange()),
+                Math.max(config.getAquaticActivationRange(), config.getAmbientActivationRange())), config.getMiscActivationRange());
+        final long currentTick = world.getTotalWorldTime();
+
+        for (Object o : world.playerEntities) {
+            final EntityPlayer player = (EntityPlayer) o;
+            final int minChunkX = MathHelper.floor_double(player.posX - maxRange) >> 4;
+            final int maxChunkX = MathHelper.floor_double(player.posX + maxRange) >> 4;
+            final int minChunkZ = MathHelper.floor_double(player.posZ - maxRange) >> 4;
+            final int maxChunkZ = MathHelper.floor_double(player.posZ + maxRange) >> 4;
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    if (world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                        activateChunkEntities(player, world.getChunkFromChunkCoords(chunkX, chunkZ), config, currentTick);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void activateChunkEntities(EntityPlayer player, Chunk chunk, ActiveConfigSnapshot config, long currentTick) {
+        for (ClassInheritanceMultiMap entities : chunk.getEntityLists()) {
+            for (Object o : entities) {
+                final Entity entity = (Entity) o;
+                final IMixinEntity spongeEntity = (IMixinEntity) entity;
+                if (spongeEntity.getDefaultActivationState() || spongeEntity.getActivatedTick() >= currentTick) {
+                    continue;
+                }
+                // Only the horizontal distance counts, like the tracking range
+                final int range = getActivationRange(config, spongeEntity.getActivationType());
+                if (Math.abs(entity.posX - player.posX) <= range && Math.abs(entity.posZ - player.posZ) <= range) {
+                    spongeEntity.setActivatedTick(currentTick);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether the entity should be fully ticked this tick.
+     *
+     * @param entity The entity to check
+     * @return True if the entity is active
+     */
+    public static boolean checkIfActive(Entity entity) {
+        final IMixinEntity spongeEntity = (IMixinEntity) entity;
+        if (entity.worldObj.isRemote || spongeEntity.getDefaultActivationState()) {
+            return true;
+        }
+        final long currentTick = entity.worldObj.getTotalWorldTime();
+        if (spongeEntity.getActivatedTick() >= currentTick) {
+            return true;
+        }
+        if (isImmune(entity)) {
+            spongeEntity.setActivatedTick(currentTick);
+            return true;
+        }
+        // A range of zero or less disables activation ranges for the type
+        final ActiveConfigSnapshot config = SpongeHooks.getActiveConfigSnapshot(entity.worldObj);
+        if (getActivationRange(config, spongeEntity.getActivationType()) <= 0) {
+            return true;
+        }
+        return (currentTick - spongeEntity.getActivatedTick()) % INACTIVE_WAKEUP_INTERVAL == 0;
+    }
+
+    private static boolean isImmune(Entity entity) {
+        if (entity.ridingEntity != null || entity.riddenByEntity != null || entity.isBurning()) {
+            return true;
+        }
+        // Recently damaged entities need to finish their knockback
+        return entity instanceof EntityLivingBase && ((EntityLivingBase) entity).hurtTime > 0;
+    }
+
+    private static int getActivationRange(ActiveConfigSnapshot config, byte activationType) {
+        switch (activationType) {
+            case MONSTER:
+                return config.getMonsterActivationRange();
+            case CREATURE:
+                return config.getCreatureActivationRange();
+            case AQUATIC:
+                return config.getAquaticActivationRange();
+            case AMBIENT:
+                return config.getAmbientActivationRange();
+            default:
+                return config.getMiscActivationRange();
+        }
+    }
+}
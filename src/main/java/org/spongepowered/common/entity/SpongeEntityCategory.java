@@ -0,0 +1,67 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.monster.IMob;
+import net.minecraft.entity.passive.EntityAmbientCreature;
+import net.minecraft.entity.passive.EntityWaterMob;
+import net.minecraft.entity.player.EntityPlayer;
+
+/**
+ * The categories entities are counted under by each chunk, and the
+ * per-chunk spawn caps apply to. The activation types of
+ * {@link EntityActivationRange} are derived from them.
+ */
+public enum SpongeEntityCategory {
+
+    PLAYER,
+    MONSTER,
+    CREATURE,
+    AQUATIC,
+    AMBIENT,
+    ITEM,
+    MISC;
+
+    public static SpongeEntityCategory of(Entity entity) {
+        if (entity instanceof EntityPlayer) {
+            return PLAYER;
+        } else if (entity instanceof EntityItem) {
+            return ITEM;
+        } else if (entity instanceof EntityWaterMob) {
+            return AQUATIC;
+        } else if (entity instanceof EntityAmbientCreature) {
+            return AMBIENT;
+        } else if (entity instanceof IMob) {
+            return MONSTER;
+        } else if (entity instanceof EntityCreature) {
+            return CREATURE;
+        }
+        return MISC;
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.living.human;
+
+import com.google.common.collect.Maps;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.network.play.server.S38PacketPlayerListItem;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delays the removal of human entries from the tab list of players, long
+ * enough for the client to load their skins. All entries due in the same
+ * tick are removed with one packet per player.
+ *
+ * <p>Removals are kept per connection rather than per player entity. The
+ * client keeps its tab list when the player respawns or changes worlds,
+ * which replaces the entity but not the connection.</p>
+ */
+public final class PlayerListRemovals {
+
+    private static final Map<NetHandlerPlayServer, ArrayDeque<PendingRemoval>> pending = Maps.newHashMap();
+
+    private PlayerListRemovals() {
+    }
+
+    /**
+     * Schedules the removal of the tab list entries in the given packet.
+     *
+     * @param player The player to remove the entries for
+     * @param packet The REMOVE_PLAYER packet
+     * @param dueTick The server tick to remove the entries at
+     */
+    public static void schedule(EntityPlayerMP player, S38PacketPlayerListItem packet, int dueTick) {
+        ArrayDeque<PendingRemoval> removals = pending.get(player.playerNetServerHandler);
+        if (removals == null) {
+            pending.put(player.playerNetServerHandler, removals = new ArrayDeque<PendingRemoval>());
+        }
+        removals.add(new PendingRemoval(packet, dueTick));
+    }
+
+    /**
+     * Sends the removals that are due.
+     *
+     * @param tick The current server tick
+     */
+    @SuppressWarnings("unchecked")
+    public static void tick(int tick) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Iterator<Map.Entry<NetHandlerPlayServer, ArrayDeque<PendingRemoval>>> it = pending.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<NetHandlerPlayServer, ArrayDeque<PendingRemoval>> entry = it.next();
+            NetHandlerPlayServer connection = entry.getKey();
+            if (!connection.getNetworkManager().isChannelOpen()) {
+                it.remove();
+                continue;
+            }
+            ArrayDeque<PendingRemoval> removals = entry.getValue();
+            S38PacketPlayerListItem batch = null;
+            // Removals scheduled in worlds with different delays may be out of order
+            for (Iterator<PendingRemoval> removalIt = removals.iterator(); removalIt.hasNext();) {
+                PendingRemoval removal = removalIt.next();
+                if (removal.dueTick > tick) {
+                    continue;
+                }
+                removalIt.remove();
+                if (batch == null) {
+                    batch = new S38PacketPlayerListItem(S38PacketPlayerListItem.Action.REMOVE_PLAYER);
+                }
+                batch.field_179769_b.addAll((List<S38PacketPlayerListItem.AddPlayerData>) removal.packet.field_179769_b);
+            }
+            if (batch != null) {
+                connection.sendPacket(batch);
+            }
+            if (removals.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class PendingRemoval {
+
+        final S38PacketPlayerListItem packet;
+        final int dueTick;
+
+        PendingRemoval(S38PacketPlayerListItem packet, int dueTick) {
+            this.packet = packet;
+            this.dueTick = dueTick;
+        }
+
+    }
+
+}
@@ -45,6 +45,9 @@
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.api.service.event.EventManager;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.metrics.SpongeMetrics;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.TimingPhase;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -237,15 +240,33 @@ public boolean apply(RegisteredHandler<?> handler) {
         });
     }
 
+    /**
+     * Gets whether any handler would be called for an event of the given
+     * type, which lets callers skip building events nobody listens to.
+     *
+     * @param eventClass The event type
+     * @return Whether there are handlers for the event type
+     */
+    public boolean hasHandlers(Class<? extends Event> eventClass) {
+        return !this.handlersCache.getUnchecked(checkNotNull(eventClass, "eventClass")).getHandlers().isEmpty();
+    }
+
     protected RegisteredHandler.Cache getHandlerCache(Event event) {
         return this.handlersCache.getUnchecked(checkNotNull(event, "event").getClass());
     }
 
     @SuppressWarnings("unchecked")
     protected static boolean post(Event event, List<RegisteredHandler<?>> handlers) {
+        SpongeMetrics.eventPosted();
         for (@SuppressWarnings("rawtypes") RegisteredHandler handler : handlers) {
             try {
-                handler.handle(event);
+                if (SpongeTimings.isTiming()) {
+                    final long start = System.nanoTime();
+                    handler.handle(event);
+                    SpongeTimings.record(TimingPhase.EVENT_HANDLER, handler.getHandle().getClass(), handler.getPlugin(), start);
+                } else {
+                    handler.handle(event);
+                }
             } catch (Throwable e) {
                 Sponge.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), handler.getPlugin(), e);
             }
@@ -0,0 +1,61 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.common.entity.SpongeEntityCategory;
+
+/**
+ * Live counts of the entities and tile entities in a chunk, kept up to date
+ * as they are added and removed.
+ */
+public interface IMixinChunk {
+
+    int getEntityCount();
+
+    int getEntityCount(SpongeEntityCategory category);
+
+    /**
+     * Gets the number of entities of exactly the given class in the chunk,
+     * subclasses are not included.
+     *
+     * @param type The entity class
+     * @return The number of entities
+     */
+    int getEntityCount(Class<? extends Entity> type);
+
+    int getTileEntityCount();
+
+    /**
+     * Gets the number of tile entities of exactly the given class in the
+     * chunk, subclasses are not included.
+     *
+     * @param type The tile entity class
+     * @return The number of tile entities
+     */
+    int getTileEntityCount(Class<? extends TileEntity> type);
+
+}
@@ -49,6 +49,29 @@ public interface IMixinEntity {
 
     void setEyeHeight(Double value);
 
+    /**
+     * Gets the x coordinate of this entity without allocating a position
+     * vector or location.
+     *
+     * @return The x coordinate
+     */
+    double getX();
+
+    double getY();
+
+    double getZ();
+
+    /**
+     * Gets the x coordinate of the block this entity is in.
+     *
+     * @return The block x coordinate
+     */
+    int getBlockX();
+
+    int getBlockY();
+
+    int getBlockZ();
+
     NBTTagCompound getSpongeData();
 
     /**
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.interfaces;
+
+import org.spongepowered.common.data.util.NbtModificationStamp;
+
+public interface IMixinNBTBase {
+
+    /**
+     * Gets a stamp that changes whenever this tag or one of the tags nested
+     * in it is modified.
+     *
+     * <p>Nested tags only report their modifications to the parent once the
+     * parent has been asked for its stamp, so tags nobody tracks don't pay
+     * for it.</p>
+     *
+     * @return The modification stamp
+     */
+    int getModificationStamp();
+
+    /**
+     * Gets the modification stamp of this tag, creating it on first use.
+     *
+     * @return The stamp
+     */
+    NbtModificationStamp getStamp();
+
+    /**
+     * Links the tags nested in this tag to their parents, so that their
+     * modifications propagate up to this tag.
+     */
+    void trackChildren();
+
+    void markModified();
+
+    /**
+     * Gets a 64-bit hash of the contents of this tag, which is cached until
+     * the {@link #getModificationStamp() stamp} changes.
+     *
+     * @return The content hash
+     */
+    long getContentHash();
+
+    /**
+     * Gets whether every modification to the contents of this tag is seen
+     * by its {@link #getModificationStamp() stamp}. Only then do differing
+     * content hashes prove that two tags differ.
+     *
+     * <p>This is not the case once the tag holds a byte or int array, which
+     * can be written to directly, or a tag that has been added to another
+     * tag since.</p>
+     *
+     * @return True if the content hash is kept up to date
+     */
+    boolean isContentHashTracked();
+
+}
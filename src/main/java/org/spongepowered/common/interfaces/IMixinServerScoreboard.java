@@ -32,4 +32,10 @@ public interface IMixinServerScoreboard {
 
     void removePlayer(EntityPlayerMP player);
 
+    /**
+     * Sends the scoreboard changes queued since the last flush to the
+     * players viewing this scoreboard.
+     */
+    void flushPackets();
+
 }
@@ -27,12 +27,15 @@
 import com.google.common.collect.ImmutableList;
 import org.spongepowered.api.world.gen.GeneratorPopulator;
 import org.spongepowered.api.world.gen.Populator;
+import org.spongepowered.common.configuration.ActiveConfigSnapshot;
 import org.spongepowered.common.configuration.SpongeConfig;
 
 public interface IMixinWorld {
 
     SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig();
 
+    ActiveConfigSnapshot getActiveConfig();
+
     ImmutableList<Populator> getPopulators();
 
     ImmutableList<GeneratorPopulator> getGeneratorPopulators();
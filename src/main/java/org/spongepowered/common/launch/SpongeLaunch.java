@@ -49,6 +49,10 @@ public static void initialize(File gameDir, File configDir, File pluginsDir) {
         SpongeLaunch.pluginsDir = pluginsDir != null ? pluginsDir : new File(gameDir, "mods");
     }
 
+    public static boolean isInitialized() {
+        return gameDir != null;
+    }
+
     public static File getGameDirectory() {
         checkState(gameDir != null, "Sponge was not initialized");
         return gameDir;
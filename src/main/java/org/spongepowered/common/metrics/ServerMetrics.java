@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import com.google.common.base.Optional;
+import org.spongepowered.api.service.sql.SqlService;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.service.scheduler.SpongeScheduler;
+import org.spongepowered.common.service.sql.SqlServiceImpl;
+import org.spongepowered.common.text.action.SpongeCallbackHolder;
+
+import java.util.Map;
+
+public class ServerMetrics implements ServerMetricsMBean {
+
+    @Override
+    public double getTicksPerSecond() {
+        return SpongeMetrics.getTicksPerSecond();
+    }
+
+    @Override
+    public double getMeanTickTime() {
+        return SpongeMetrics.getMeanTickTime();
+    }
+
+    @Override
+    public long getTickCount() {
+        return SpongeMetrics.getTickCount();
+    }
+
+    @Override
+    public long getEventsPosted() {
+        return SpongeMetrics.getEventsPosted();
+    }
+
+    @Override
+    public long getTasksRun() {
+        return SpongeMetrics.getTasksRun();
+    }
+
+    @Override
+    public int getScheduledSyncTasks() {
+        return SpongeScheduler.getInstance().getTaskCount(false);
+    }
+
+    @Override
+    public int getScheduledAsyncTasks() {
+        return SpongeScheduler.getInstance().getTaskCount(true);
+    }
+
+    @Override
+    public int getSqlConnectionPools() {
+        Optional<SqlService> service = Sponge.getGame().getServiceManager().provide(SqlService.class);
+        if (service.isPresent() && service.get() instanceof SqlServiceImpl) {
+            return ((SqlServiceImpl) service.get()).getConnectionPoolCount();
+        }
+        return 0;
+    }
+
+    @Override
+    public int getRegisteredCallbacks() {
+        return SpongeCallbackHolder.getInstance().size();
+    }
+
+    @Override
+    public Map<String, Integer> getRegisteredCallbacksByOwner() {
+        return SpongeCallbackHolder.getInstance().getOwnerCounts();
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import java.util.Map;
+
+/**
+ * Server wide metrics exposed over JMX as
+ * {@code org.spongepowered:type=Server}.
+ */
+public interface ServerMetricsMBean {
+
+    /**
+     * Gets the ticks per second measured over the last 100 ticks.
+     *
+     * @return The ticks per second, capped at 20
+     */
+    double getTicksPerSecond();
+
+    /**
+     * Gets the mean time spent in a server tick over the last 100 ticks.
+     *
+     * @return The mean tick time in milliseconds
+     */
+    double getMeanTickTime();
+
+    long getTickCount();
+
+    long getEventsPosted();
+
+    long getTasksRun();
+
+    int getScheduledSyncTasks();
+
+    int getScheduledAsyncTasks();
+
+    int getSqlConnectionPools();
+
+    int getRegisteredCallbacks();
+
+    /**
+     * Gets the number of registered text callbacks per owner, the top level
+     * class that declared the callback.
+     *
+     * @return The callbacks per owner class name
+     */
+    Map<String, Integer> getRegisteredCallbacksByOwner();
+
+}
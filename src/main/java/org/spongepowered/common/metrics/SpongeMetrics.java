@@ -0,0 +1,217 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import com.google.common.collect.Maps;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.Sponge;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Keeps the counters behind the Sponge JMX MBeans and takes care of
+ * registering them with the platform {@link MBeanServer}.
+ *
+ * <p>The hot paths only ever touch an {@link AtomicLong} or a slot of the
+ * tick ring, which is written by the main thread alone. Everything else is
+ * read lazily when a JMX client asks for an attribute.</p>
+ */
+public final class SpongeMetrics {
+
+    public static final String DOMAIN = "org.spongepowered";
+
+    private static final int TICK_SAMPLES = 100;
+
+    private static final AtomicLong eventsPosted = new AtomicLong();
+    private static final AtomicLong tasksRun = new AtomicLong();
+    private static final long[] tickStarts = new long[TICK_SAMPLES];
+    private static final long[] tickDurations = new long[TICK_SAMPLES];
+    private static final Map<Integer, ObjectName> worldNames = Maps.newConcurrentMap();
+    private static volatile long tickCount;
+    private static ObjectName serverName;
+
+    private SpongeMetrics() {
+    }
+
+    public static void eventPosted() {
+        eventsPosted.incrementAndGet();
+    }
+
+    public static void taskRun() {
+        tasksRun.incrementAndGet();
+    }
+
+    public static void tickStarted() {
+        tickStarted(System.nanoTime());
+    }
+
+    public static void tickEnded() {
+        tickEnded(System.nanoTime());
+    }
+
+    static void tickStarted(long now) {
+        tickStarts[(int) (tickCount % TICK_SAMPLES)] = now;
+    }
+
+    static void tickEnded(long now) {
+        final int index = (int) (tickCount % TICK_SAMPLES);
+        tickDurations[index] = now - tickStarts[index];
+        // Single writer, the volatile write publishes the slot above
+        tickCount = tickCount + 1;
+    }
+
+    static long getEventsPosted() {
+        return eventsPosted.get();
+    }
+
+    static long getTasksRun() {
+        return tasksRun.get();
+    }
+
+    static long getTickCount() {
+        return tickCount;
+    }
+
+    static double getTicksPerSecond() {
+        final long count = tickCount;
+        final int samples = (int) Math.min(count, TICK_SAMPLES);
+        if (samples < 2) {
+            return 20;
+        }
+        final long span = tickStarts[(int) ((count - 1) % TICK_SAMPLES)] - tickStarts[(int) ((count - samples) % TICK_SAMPLES)];
+        if (span <= 0) {
+            return 20;
+        }
+        return Math.min(20, (samples - 1) * 1.0E9D / span);
+    }
+
+    static double getMeanTickTime() {
+        final int samples = (int) Math.min(tickCount, TICK_SAMPLES);
+        return samples == 0 ? 0 : mean(tickDurations, samples);
+    }
+
+    static double mean(long[] nanos, int samples) {
+        long total = 0;
+        for (int i = 0; i < samples; i++) {
+            total += nanos[i];
+        }
+        return total / (double) samples / 1.0E6D;
+    }
+
+    static void reset() {
+        eventsPosted.set(0);
+        tasksRun.set(0);
+        tickCount = 0;
+    }
+
+    static ObjectName getServerObjectName() throws JMException {
+        return new ObjectName(DOMAIN, "type", "Server");
+    }
+
+    static ObjectName getWorldObjectName(int dimensionId) throws JMException {
+        return new ObjectName(DOMAIN + ":type=World,dimension=" + dimensionId);
+    }
+
+    /**
+     * Registers the server MBean, if it is not already registered.
+     */
+    public static synchronized void registerServer() {
+        if (serverName != null) {
+            return;
+        }
+        try {
+            serverName = register(getServerObjectName(), new ServerMetrics());
+        } catch (JMException e) {
+            Sponge.getLogger().warn("Could not register the server metrics MBean", e);
+        }
+    }
+
+    /**
+     * Registers the MBean of a freshly loaded world.
+     *
+     * @param world The world
+     */
+    public static void registerWorld(WorldServer world) {
+        final int dimensionId = world.provider.getDimensionId();
+        try {
+            worldNames.put(dimensionId, register(getWorldObjectName(dimensionId), new WorldMetrics(world)));
+        } catch (JMException e) {
+            Sponge.getLogger().warn("Could not register the metrics MBean of dimension {}", dimensionId, e);
+        }
+    }
+
+    /**
+     * Unregisters the MBean of an unloaded world.
+     *
+     * @param dimensionId The dimension id of the world
+     */
+    public static void unregisterWorld(int dimensionId) {
+        final ObjectName name = worldNames.remove(dimensionId);
+        if (name != null) {
+            unregister(name);
+        }
+    }
+
+    /**
+     * Unregisters every MBean registered by Sponge.
+     */
+    public static synchronized void unregisterAll() {
+        for (Integer dimensionId : worldNames.keySet()) {
+            unregisterWorld(dimensionId);
+        }
+        if (serverName != null) {
+            unregister(serverName);
+            serverName = null;
+        }
+    }
+
+    private static ObjectName register(ObjectName name, Object mbean) throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(name)) {
+            // Left over from a previous integrated server session
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(mbean, name);
+        return name;
+    }
+
+    private static void unregister(ObjectName name) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            Sponge.getLogger().warn("Could not unregister the metrics MBean {}", name, e);
+        }
+    }
+
+}
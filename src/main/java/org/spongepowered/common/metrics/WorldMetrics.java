@@ -0,0 +1,89 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.interfaces.IMixinMinecraftServer;
+import org.spongepowered.common.interfaces.IMixinWorldEntityActivation;
+
+public class WorldMetrics implements WorldMetricsMBean {
+
+    private final WorldServer world;
+
+    public WorldMetrics(WorldServer world) {
+        this.world = world;
+    }
+
+    @Override
+    public String getName() {
+        return this.world.getWorldInfo().getWorldName();
+    }
+
+    @Override
+    public int getDimensionId() {
+        return this.world.provider.getDimensionId();
+    }
+
+    @Override
+    public int getLoadedChunks() {
+        return this.world.theChunkProviderServer.getLoadedChunkCount();
+    }
+
+    @Override
+    public int getActiveChunks() {
+        return this.world.activeChunkSet.size();
+    }
+
+    @Override
+    public int getEntities() {
+        return this.world.loadedEntityList.size();
+    }
+
+    @Override
+    public int getActiveEntities() {
+        if (this.world instanceof IMixinWorldEntityActivation) {
+            return ((IMixinWorldEntityActivation) this.world).getActiveEntityCount();
+        }
+        return getEntities();
+    }
+
+    @Override
+    public int getTileEntities() {
+        return this.world.loadedTileEntityList.size();
+    }
+
+    @Override
+    public int getPlayers() {
+        return this.world.playerEntities.size();
+    }
+
+    @Override
+    public double getMeanTickTime() {
+        final long[] tickTimes = ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().get(getDimensionId());
+        return tickTimes == null ? 0 : SpongeMetrics.mean(tickTimes, tickTimes.length);
+    }
+
+}
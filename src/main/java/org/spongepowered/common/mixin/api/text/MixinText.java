@@ -59,6 +59,9 @@ public abstract class MixinText implements IMixinText {
     @Shadow protected Optional<ShiftClickAction<?>> shiftClickAction;
 
     private Map<Locale, IChatComponent> localizedComponents;
+    private Map<Locale, String> localizedPlain;
+    private Map<Locale, String> localizedLegacy; // Only for the default legacy formatting code
+    private String legacyFormatting;
     private String json;
 
     protected ChatComponentStyle createComponent(Locale locale) {
@@ -118,7 +121,15 @@ public IChatComponent toComponent(Locale locale) {
 
     @Override
     public String toPlain(Locale locale) {
-        return ((IMixinChatComponent) getHandle(locale)).toPlain();
+        if (this.localizedPlain == null) {
+            this.localizedPlain = Collections.synchronizedMap(new HashMap<Locale, String>());
+        }
+        String plain = this.localizedPlain.get(locale);
+        if (plain == null) {
+            plain = ((IMixinChatComponent) getHandle(locale)).toPlain();
+            this.localizedPlain.put(locale, plain);
+        }
+        return plain;
     }
 
     @Override
@@ -132,12 +143,27 @@ public String toJson(Locale locale) {
 
     @Override
     public String getLegacyFormatting() {
-        return ((IMixinChatComponent) getHandle(SpongeTexts.getDefaultLocale())).getLegacyFormatting();
+        if (this.legacyFormatting == null) {
+            this.legacyFormatting = ((IMixinChatComponent) getHandle(SpongeTexts.getDefaultLocale())).getLegacyFormatting();
+        }
+
+        return this.legacyFormatting;
     }
 
     @Override
     public String toLegacy(char code, Locale locale) {
-        return ((IMixinChatComponent) getHandle(locale)).toLegacy(code);
+        if (code != SpongeTexts.COLOR_CHAR) {
+            return ((IMixinChatComponent) getHandle(locale)).toLegacy(code);
+        }
+        if (this.localizedLegacy == null) {
+            this.localizedLegacy = Collections.synchronizedMap(new HashMap<Locale, String>());
+        }
+        String legacy = this.localizedLegacy.get(locale);
+        if (legacy == null) {
+            legacy = ((IMixinChatComponent) getHandle(locale)).toLegacy(code);
+            this.localizedLegacy.put(locale, legacy);
+        }
+        return legacy;
     }
 
 }
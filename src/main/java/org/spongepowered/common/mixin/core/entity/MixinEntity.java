@@ -35,6 +35,7 @@
 import net.minecraft.network.play.server.S07PacketRespawn;
 import net.minecraft.network.play.server.S08PacketPlayerPosLook;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
 import net.minecraft.world.WorldServer;
 import org.spongepowered.api.data.DataContainer;
 import org.spongepowered.api.data.MemoryDataContainer;
@@ -52,9 +53,11 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.entity.EntityActivationRange;
 import org.spongepowered.common.entity.SpongeTransform;
 import org.spongepowered.common.interfaces.IMixinEntity;
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
@@ -80,6 +83,11 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
     private float origWidth;
     private float origHeight;
     @Nullable private Double modifiedEyeHeight = null;
+    private byte activationType = EntityActivationRange.initializeEntityActivationType((net.minecraft.entity.Entity) (Object) this);
+    private boolean defaultActivationState = EntityActivationRange.initializeEntityActivationState((net.minecraft.entity.Entity) (Object) this);
+    private long activatedTick = Integer.MIN_VALUE;
+    // Set while a mob dies, only its drops count against the item cap of the chunk
+    protected boolean capDrops;
 
     @Shadow private UUID entityUniqueID;
     @Shadow public net.minecraft.world.World worldObj;
@@ -141,6 +149,15 @@ public void onMoveEntity(double x, double y, double z, CallbackInfo ci) {
         }
     }
 
+    @Redirect(method = "entityDropItem(Lnet/minecraft/item/ItemStack;F)Lnet/minecraft/entity/item/EntityItem;",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;spawnEntityInWorld(Lnet/minecraft/entity/Entity;)Z"))
+    public boolean onSpawnDrop(net.minecraft.world.World world, net.minecraft.entity.Entity item) {
+        if (this.capDrops && SpongeHooks.checkChunkEntityCap(item)) {
+            return false;
+        }
+        return world.spawnEntityInWorld(item);
+    }
+
     @Inject(method = "getEyeHeight()F", at = @At("HEAD"), cancellable = true)
     public void onGetEyeHeight(CallbackInfoReturnable<Float> ci) {
         if (this.modifiedEyeHeight != null) {
@@ -164,7 +181,37 @@ public Vector3d getPosition() {
 
     @Override
     public Location<World> getLocation() {
-        return new Location<World>((World) this.worldObj, getPosition());
+        return new Location<World>((World) this.worldObj, new Vector3d(this.posX, this.posY, this.posZ));
+    }
+
+    @Override
+    public double getX() {
+        return this.posX;
+    }
+
+    @Override
+    public double getY() {
+        return this.posY;
+    }
+
+    @Override
+    public double getZ() {
+        return this.posZ;
+    }
+
+    @Override
+    public int getBlockX() {
+        return MathHelper.floor_double(this.posX);
+    }
+
+    @Override
+    public int getBlockY() {
+        return MathHelper.floor_double(this.posY);
+    }
+
+    @Override
+    public int getBlockZ() {
+        return MathHelper.floor_double(this.posZ);
     }
 
     @Override
@@ -394,8 +441,8 @@ public Vector3d getRotation() {
     public void setRotation(Vector3d rotation) {
         if (((Entity) this) instanceof EntityPlayerMP) {
             // Force an update, this also set the rotation in this entity
-            ((EntityPlayerMP) (Entity) this).playerNetServerHandler.setPlayerLocation(getPosition().getX(), getPosition().getY(),
-                getPosition().getZ(), (float) rotation.getY(), (float) rotation.getX(), EnumSet.noneOf(RelativePositions.class));
+            ((EntityPlayerMP) (Entity) this).playerNetServerHandler.setPlayerLocation(this.posX, this.posY, this.posZ,
+                (float) rotation.getY(), (float) rotation.getX(), EnumSet.noneOf(RelativePositions.class));
         } else {
             // Let the entity tracker do its job, this just updates the variables
             shadow$setRotation((float) rotation.getY(), (float) rotation.getX());
@@ -443,6 +490,30 @@ public void setTeleportVehicle(net.minecraft.entity.Entity vehicle) {
         this.teleportVehicle = vehicle;
     }
 
+    @Override
+    public byte getActivationType() {
+        return this.activationType;
+    }
+
+    @Override
+    public long getActivatedTick() {
+        return this.activatedTick;
+    }
+
+    @Override
+    public boolean getDefaultActivationState() {
+        return this.defaultActivationState;
+    }
+
+    @Override
+    public void setActivatedTick(long tick) {
+        this.activatedTick = tick;
+    }
+
+    @Override
+    public void inactiveTick() {
+    }
+
     @Override
     public EntityType getType() {
         return this.entityType;
@@ -628,9 +699,9 @@ public void writeToNbt(NBTTagCompound compound) {
     public DataContainer toContainer() {
         DataContainer container = new MemoryDataContainer();
         container.set(of("world"), ((World) this.worldObj).getUniqueId().toString());
-        container.set(of("x"), this.getLocation().getX());
-        container.set(of("y"), this.getLocation().getY());
-        container.set(of("z"), this.getLocation().getZ());
+        container.set(of("x"), this.posX);
+        container.set(of("y"), this.posY);
+        container.set(of("z"), this.posZ);
         container.set(of("entityType"), this.getClass().getSimpleName());
         return container;
     }
@@ -32,7 +32,9 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.configuration.ActiveConfigSnapshot;
 import org.spongepowered.common.entity.living.human.EntityHuman;
+import org.spongepowered.common.util.SpongeHooks;
 
 @Mixin(EntityTracker.class)
 public abstract class MixinEntityTracker {
@@ -43,7 +45,8 @@ public abstract class MixinEntityTracker {
     @Inject(method = "trackEntity", at = @At("HEAD"), cancellable = true)
     public void onTrackEntity(Entity entityIn, CallbackInfo ci) {
         if (entityIn instanceof EntityHuman) {
-            this.trackEntity(entityIn, 512, 2);
+            ActiveConfigSnapshot config = SpongeHooks.getActiveConfigSnapshot(entityIn.worldObj);
+            this.trackEntity(entityIn, config.getHumanTrackingRange(), config.getHumanUpdateFrequency());
             ci.cancel();
         }
     }
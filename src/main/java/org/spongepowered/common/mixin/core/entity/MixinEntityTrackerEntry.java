@@ -30,7 +30,10 @@
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.S14PacketEntity;
 import net.minecraft.network.play.server.S38PacketPlayerListItem;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.MathHelper;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
@@ -38,9 +41,9 @@
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
-import org.spongepowered.common.Sponge;
 import org.spongepowered.common.entity.living.human.EntityHuman;
-import org.spongepowered.common.entity.living.human.RemovePlayerListRunnable;
+import org.spongepowered.common.entity.living.human.PlayerListRemovals;
+import org.spongepowered.common.util.SpongeHooks;
 
 import java.util.Set;
 
@@ -53,9 +56,21 @@ public abstract class MixinEntityTrackerEntry {
     @Shadow
     public Set<EntityPlayerMP> trackingPlayers;
 
+    @Shadow
+    public int encodedPosX;
+
+    @Shadow
+    public int encodedPosY;
+
+    @Shadow
+    public int encodedPosZ;
+
     @Shadow
     public abstract void func_151261_b(Packet packetIn);
 
+    @Shadow
+    public abstract void func_151259_a(Packet packetIn);
+
     @Redirect(method = "updatePlayerEntity", at = @At(value = "INVOKE",
             target = "Lnet/minecraft/network/NetHandlerPlayServer;sendPacket(Lnet/minecraft/network/Packet;)V", ordinal = 0))
     public void onSendSpawnPacket(final NetHandlerPlayServer thisCtx, final Packet spawnPacket, final EntityPlayerMP playerIn) {
@@ -74,16 +89,28 @@ public void onSendSpawnPacket(final NetHandlerPlayServer thisCtx, final Packet s
         if (human.canRemoveFromListImmediately()) {
             thisCtx.sendPacket(removePacket);
         } else {
-            int delay = Sponge.getGlobalConfig().getConfig().getEntity().getHumanPlayerListRemoveDelay();
-            Runnable removeTask = new RemovePlayerListRunnable(human, playerIn, removePacket);
+            int delay = SpongeHooks.getActiveConfigSnapshot(human.worldObj).getHumanPlayerListRemoveDelay();
             if (delay == 0) {
-                removeTask.run();
+                thisCtx.sendPacket(removePacket);
             } else {
-                Sponge.getGame().getScheduler().createTaskBuilder().execute(removeTask).delay(delay).submit(Sponge.getPlugin());
+                PlayerListRemovals.schedule(playerIn, removePacket, MinecraftServer.getServer().getTickCounter() + delay);
             }
         }
     }
 
+    // Standing humans don't need the periodic relative move vanilla sends every 60 ticks
+    @Redirect(method = "updatePlayerList", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/entity/EntityTrackerEntry;func_151259_a(Lnet/minecraft/network/Packet;)V"))
+    public void onSendMovePacket(EntityTrackerEntry thisEntry, Packet packet) {
+        if (packet instanceof S14PacketEntity.S15PacketEntityRelMove && this.trackedEntity instanceof EntityHuman
+                && MathHelper.floor_double(this.trackedEntity.posX * 32.0D) == this.encodedPosX
+                && MathHelper.floor_double(this.trackedEntity.posY * 32.0D) == this.encodedPosY
+                && MathHelper.floor_double(this.trackedEntity.posZ * 32.0D) == this.encodedPosZ) {
+            return;
+        }
+        this.func_151259_a(packet);
+    }
+
     // The spawn packet for a human is a player
     @Inject(method = "func_151260_c", at = @At("HEAD"), cancellable = true)
     public void onGetSpawnPacket(CallbackInfoReturnable<Packet> cir) {
@@ -50,7 +50,9 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.entity.living.human.EntityHuman;
 import org.spongepowered.common.interfaces.entity.IMixinEntityLivingBase;
 import org.spongepowered.common.mixin.core.entity.MixinEntity;
@@ -92,6 +94,17 @@ public abstract class MixinEntityLivingBase extends MixinEntity implements Livin
 
     private int maxAir = 300;
 
+    @Inject(method = "onDeath(Lnet/minecraft/util/DamageSource;)V", at = @At("HEAD"))
+    public void onDeathHead(DamageSource cause, CallbackInfo ci) {
+        // What a player drops is never denied
+        this.capDrops = !this.worldObj.isRemote && !((Object) this instanceof EntityPlayer);
+    }
+
+    @Inject(method = "onDeath(Lnet/minecraft/util/DamageSource;)V", at = @At("RETURN"))
+    public void onDeathReturn(DamageSource cause, CallbackInfo ci) {
+        this.capDrops = false;
+    }
+
     public void setLastAttacker(@Nullable Living lastAttacker) {
         setLastAttacker((EntityLivingBase) lastAttacker);
     }
@@ -179,7 +192,7 @@ public double getEyeHeightD() {
     }
 
     public Vector3d getEyeLocation() {
-        return ((Living) this).getLocation().getPosition().add(0, getEyeHeight(), 0);
+        return new Vector3d(this.posX, this.posY + getEyeHeight(), this.posZ);
     }
 
     public int getRemainingAir() {
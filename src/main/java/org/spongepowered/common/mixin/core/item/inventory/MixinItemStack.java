@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.item.inventory;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static org.spongepowered.api.data.DataQuery.of;
 
 import com.google.common.base.Optional;
@@ -45,14 +46,30 @@
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.IMixinNBTBase;
+import org.spongepowered.common.interfaces.item.IMixinItemStack;
 import org.spongepowered.common.text.translation.SpongeTranslation;
 
+import javax.annotation.Nullable;
+
 @SuppressWarnings("serial")
 @NonnullByDefault
 @Mixin(net.minecraft.item.ItemStack.class)
-public abstract class MixinItemStack implements ItemStack {
+public abstract class MixinItemStack implements ItemStack, IMixinItemStack {
 
     @Shadow public int stackSize;
+    @Shadow private Item item;
+    @Shadow private int itemDamage;
+    @Shadow private NBTTagCompound stackTagCompound;
+
+    // Derived from the item, damage and tag, valid while they match the ones below
+    @Nullable private DataContainer cachedData;
+    @Nullable private Text cachedText;
+    @Nullable private Item cachedItem;
+    private int cachedDamage;
+    @Nullable private NBTTagCompound cachedTag;
+    private int cachedTagStamp;
 
     @Shadow public abstract int getItemDamage();
     @Shadow public abstract void setItemDamage(int meta);
@@ -104,14 +121,19 @@ public ItemStack copy() {
 
     @Override
     public DataContainer toContainer() {
-        final DataContainer container = new MemoryDataContainer();
-        for (DataManipulator<?, ?> manipulator : getContainers()) {
-            container.set(of(manipulator.getClass().getCanonicalName()), manipulator.toContainer());
+        validateCache();
+        if (this.cachedData == null) {
+            final DataContainer container = new MemoryDataContainer();
+            for (DataManipulator<?, ?> manipulator : getContainers()) {
+                container.set(of(manipulator.getClass().getCanonicalName()), manipulator.toContainer());
+            }
+            this.cachedData = container;
         }
+        // Setting a view copies it, so the cached data can't be modified through the result
         return new MemoryDataContainer()
                 .set(of("ItemType"), this.getItem().getId())
                 .set(of("Quantity"), this.getQuantity())
-                .set(of("Data"), container);
+                .set(of("Data"), this.cachedData);
     }
 
     @Override
@@ -121,6 +143,14 @@ public Translation getTranslation() {
 
     @Override
     public Text toText() {
+        validateCache();
+        if (this.cachedText == null) {
+            this.cachedText = createText();
+        }
+        return this.cachedText;
+    }
+
+    private Text createText() {
         TextBuilder builder;
         Optional<DisplayNameData> optName = get(DisplayNameData.class);
         if (optName.isPresent()) {
@@ -137,4 +167,53 @@ public Text toText() {
         return builder.build();
     }
 
+    @Override
+    public boolean isSimilar(ItemStack other) {
+        final net.minecraft.item.ItemStack stack = (net.minecraft.item.ItemStack) checkNotNull(other, "other");
+        if (stack == (Object) this) {
+            return true;
+        }
+        if (this.item != stack.getItem() || this.itemDamage != stack.getItemDamage()) {
+            return false;
+        }
+        final NBTTagCompound tag = this.stackTagCompound;
+        final NBTTagCompound otherTag = stack.getTagCompound();
+        if (tag == null || otherTag == null) {
+            return tag == otherTag;
+        }
+        if (tag == otherTag) {
+            return true;
+        }
+        // Unequal hashes rule most stacks out without walking both tags, as long as no modification went unnoticed
+        if (NbtDataUtil.getContentHash(tag) != NbtDataUtil.getContentHash(otherTag)
+                && ((IMixinNBTBase) tag).isContentHashTracked() && ((IMixinNBTBase) otherTag).isContentHashTracked()) {
+            return false;
+        }
+        return tag.equals(otherTag);
+    }
+
+    @Override
+    public long getContentHash() {
+        long hash = NbtDataUtil.mixHash(Item.getIdFromItem(this.item) * 31L + this.itemDamage);
+        if (this.stackTagCompound != null) {
+            hash = hash * 31 + NbtDataUtil.getContentHash(this.stackTagCompound);
+        }
+        return NbtDataUtil.mixHash(hash);
+    }
+
+    private void validateCache() {
+        final IMixinNBTBase tag = (IMixinNBTBase) this.stackTagCompound;
+        final int tagStamp = tag == null ? 0 : tag.getModificationStamp();
+        // The stamp misses some changes to the tag, see IMixinNBTBase#isContentHashTracked, so nothing can be cached then
+        if (this.cachedItem != this.item || this.cachedDamage != this.itemDamage || this.cachedTag != this.stackTagCompound
+                || this.cachedTagStamp != tagStamp || tag != null && !tag.isContentHashTracked()) {
+            this.cachedData = null;
+            this.cachedText = null;
+            this.cachedItem = this.item;
+            this.cachedDamage = this.itemDamage;
+            this.cachedTag = this.stackTagCompound;
+            this.cachedTagStamp = tagStamp;
+        }
+    }
+
 }
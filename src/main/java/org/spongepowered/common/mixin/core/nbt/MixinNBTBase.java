@@ -0,0 +1,90 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.nbt;
+
+import net.minecraft.nbt.NBTBase;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.data.util.NbtModificationStamp;
+import org.spongepowered.common.interfaces.IMixinNBTBase;
+
+import javax.annotation.Nullable;
+
+@Mixin(NBTBase.class)
+public abstract class MixinNBTBase implements IMixinNBTBase {
+
+    // Only created once the tag is tracked, most tags never are
+    @Nullable private NbtModificationStamp stamp;
+    protected boolean tracked;
+
+    @Shadow public abstract byte getId();
+
+    @Override
+    public int getModificationStamp() {
+        if (!this.tracked) {
+            trackChildren();
+        }
+        return getStamp().get();
+    }
+
+    @Override
+    public NbtModificationStamp getStamp() {
+        if (this.stamp == null) {
+            this.stamp = new NbtModificationStamp();
+        }
+        return this.stamp;
+    }
+
+    @Override
+    public void trackChildren() {
+        this.tracked = true;
+    }
+
+    @Override
+    public void markModified() {
+        if (this.stamp != null) {
+            this.stamp.markModified();
+        }
+    }
+
+    @Override
+    public long getContentHash() {
+        return NbtDataUtil.getPrimitiveHash((NBTBase) (Object) this);
+    }
+
+    @Override
+    public boolean isContentHashTracked() {
+        final byte id = getId();
+        return id != NbtDataUtil.TAG_BYTE_ARRAY && id != NbtDataUtil.TAG_INT_ARRAY;
+    }
+
+    protected void track(Object child) {
+        IMixinNBTBase tag = (IMixinNBTBase) child;
+        tag.getStamp().setParent(getStamp());
+        tag.trackChildren();
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.nbt;
+
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.IMixinNBTBase;
+
+import java.util.Map;
+
+@Mixin(NBTTagCompound.class)
+public abstract class MixinNBTTagCompound extends MixinNBTBase {
+
+    @SuppressWarnings("rawtypes")
+    @Shadow private Map tagMap;
+    private boolean hashed;
+    private boolean hashTracked;
+    private int hashStamp;
+    private long contentHash;
+
+    @Override
+    public void trackChildren() {
+        super.trackChildren();
+        for (Object child : this.tagMap.values()) {
+            track(child);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public long getContentHash() {
+        final int stamp = getModificationStamp();
+        if (!this.hashed || this.hashStamp != stamp) {
+            long hash = NbtDataUtil.TAG_COMPOUND;
+            boolean allTracked = true;
+            for (Map.Entry<String, NBTBase> entry : ((Map<String, NBTBase>) this.tagMap).entrySet()) {
+                IMixinNBTBase child = (IMixinNBTBase) entry.getValue();
+                hash = NbtDataUtil.addCompoundEntry(hash, entry.getKey(), child.getContentHash());
+                allTracked &= child.getStamp().getParent() == getStamp() && child.isContentHashTracked();
+            }
+            this.contentHash = NbtDataUtil.mixHash(hash);
+            this.hashTracked = allTracked;
+            this.hashStamp = stamp;
+            this.hashed = true;
+        }
+        return this.contentHash;
+    }
+
+    @Override
+    public boolean isContentHashTracked() {
+        getContentHash();
+        return this.hashTracked;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Redirect(method = {"setTag", "setByte", "setShort", "setInteger", "setLong", "setFloat", "setDouble", "setString", "setByteArray",
+            "setIntArray"}, at = @At(value = "INVOKE", target = "Ljava/util/Map;put(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;"))
+    public Object onPut(Map map, Object key, Object value) {
+        if (this.tracked) {
+            track(value);
+        }
+        markModified();
+        return map.put(key, value);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Redirect(method = "removeTag", at = @At(value = "INVOKE", target = "Ljava/util/Map;remove(Ljava/lang/Object;)Ljava/lang/Object;"))
+    public Object onRemove(Map map, Object key) {
+        markModified();
+        return map.remove(key);
+    }
+
+}
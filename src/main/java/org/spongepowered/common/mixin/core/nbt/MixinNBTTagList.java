@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.nbt;
+
+import net.minecraft.nbt.NBTTagList;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.data.util.NbtDataUtil;
+import org.spongepowered.common.interfaces.IMixinNBTBase;
+
+import java.util.List;
+
+@Mixin(NBTTagList.class)
+public abstract class MixinNBTTagList extends MixinNBTBase {
+
+    @SuppressWarnings("rawtypes")
+    @Shadow private List tagList;
+    private boolean hashed;
+    private boolean hashTracked;
+    private int hashStamp;
+    private long contentHash;
+
+    @Override
+    public void trackChildren() {
+        super.trackChildren();
+        for (Object child : this.tagList) {
+            track(child);
+        }
+    }
+
+    @Override
+    public long getContentHash() {
+        final int stamp = getModificationStamp();
+        if (!this.hashed || this.hashStamp != stamp) {
+            long hash = NbtDataUtil.TAG_LIST;
+            boolean allTracked = true;
+            for (Object element : this.tagList) {
+                IMixinNBTBase child = (IMixinNBTBase) element;
+                hash = NbtDataUtil.addListElement(hash, child.getContentHash());
+                allTracked &= child.getStamp().getParent() == getStamp() && child.isContentHashTracked();
+            }
+            this.contentHash = NbtDataUtil.mixHash(hash);
+            this.hashTracked = allTracked;
+            this.hashStamp = stamp;
+            this.hashed = true;
+        }
+        return this.contentHash;
+    }
+
+    @Override
+    public boolean isContentHashTracked() {
+        getContentHash();
+        return this.hashTracked;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Redirect(method = "appendTag", at = @At(value = "INVOKE", target = "Ljava/util/List;add(Ljava/lang/Object;)Z"))
+    public boolean onAdd(List list, Object value) {
+        if (this.tracked) {
+            track(value);
+        }
+        markModified();
+        return list.add(value);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Redirect(method = "set", at = @At(value = "INVOKE", target = "Ljava/util/List;set(ILjava/lang/Object;)Ljava/lang/Object;"))
+    public Object onSet(List list, int index, Object value) {
+        if (this.tracked) {
+            track(value);
+        }
+        markModified();
+        return list.set(index, value);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Redirect(method = "removeTag", at = @At(value = "INVOKE", target = "Ljava/util/List;remove(I)Ljava/lang/Object;"))
+    public Object onRemove(List list, int index) {
+        markModified();
+        return list.remove(index);
+    }
+
+}
@@ -32,10 +32,12 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.interfaces.IMixinS3BPacketScoreboardObjective;
 
 @Mixin(S3BPacketScoreboardObjective.class)
-public class MixinS3BPacketScoreboardObjective {
+public class MixinS3BPacketScoreboardObjective implements IMixinS3BPacketScoreboardObjective {
 
+    @Shadow private String field_149343_a;
     @Shadow public IScoreObjectiveCriteria.EnumRenderType type;
 
     @Inject(method = "<init>(Lnet/minecraft/scoreboard/ScoreObjective;I)V", at = @At("RETURN"), remap = false)
@@ -43,4 +45,9 @@ public void onInit(ScoreObjective objective, int i, CallbackInfo ci) {
         this.type = objective.getRenderType();
     }
 
+    @Override
+    public String getObjectiveName() {
+        return this.field_149343_a;
+    }
+
 }
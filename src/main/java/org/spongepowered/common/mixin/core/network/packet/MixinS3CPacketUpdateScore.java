@@ -22,25 +22,27 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.spongepowered.common.entity.living.human;
+package org.spongepowered.common.mixin.core.network.packet;
 
-import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.network.play.server.S38PacketPlayerListItem;
+import net.minecraft.network.play.server.S3CPacketUpdateScore;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.common.interfaces.IMixinS3CPacketUpdateScore;
 
-public class RemovePlayerListRunnable implements Runnable {
+@Mixin(S3CPacketUpdateScore.class)
+public abstract class MixinS3CPacketUpdateScore implements IMixinS3CPacketUpdateScore {
 
-    private final EntityHuman human;
-    private final EntityPlayerMP player;
-    private final S38PacketPlayerListItem packet;
+    @Shadow private String name;
+    @Shadow private String objective;
 
-    public RemovePlayerListRunnable(EntityHuman human, EntityPlayerMP player, S38PacketPlayerListItem packet) {
-        this.human = human;
-        this.player = player;
-        this.packet = packet;
+    @Override
+    public String getEntryName() {
+        return this.name;
     }
 
     @Override
-    public void run() {
-        this.human.pushPackets(this.player, this.packet);
+    public String getObjectiveName() {
+        return this.objective;
     }
+
 }
@@ -24,9 +24,11 @@
  */
 package org.spongepowered.common.mixin.core.scoreboard;
 
+import com.google.common.collect.Sets;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.S3BPacketScoreboardObjective;
+import net.minecraft.network.play.server.S3DPacketDisplayScoreboard;
 import net.minecraft.network.play.server.S3EPacketTeams;
 import net.minecraft.scoreboard.ScoreObjective;
 import net.minecraft.scoreboard.ScorePlayerTeam;
@@ -34,15 +36,21 @@
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.ServerConfigurationManager;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.interfaces.IMixinS3BPacketScoreboardObjective;
+import org.spongepowered.common.interfaces.IMixinS3CPacketUpdateScore;
+import org.spongepowered.common.interfaces.IMixinS3DPacketDisplayScoreboard;
+import org.spongepowered.common.interfaces.IMixinS3EPacketTeams;
 import org.spongepowered.common.interfaces.IMixinServerScoreboard;
+import org.spongepowered.common.scoreboard.ScoreboardPacketQueue;
+import org.spongepowered.common.scoreboard.ScoreboardUpdates;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 @Mixin(ServerScoreboard.class)
 public abstract class MixinServerScoreboard extends MixinScoreboard implements IMixinServerScoreboard {
@@ -50,7 +58,17 @@ public abstract class MixinServerScoreboard extends MixinScoreboard implements I
     @Shadow
     MinecraftServer scoreboardMCServer;
 
-    private List<EntityPlayerMP> players = new ArrayList<EntityPlayerMP>();
+    @Shadow
+    private Set<ScoreObjective> field_96553_b;
+
+    @Shadow
+    public abstract List<Packet> func_96550_d(ScoreObjective objective);
+
+    @Shadow
+    public abstract List<Packet> func_96548_f(ScoreObjective objective);
+
+    private Set<EntityPlayerMP> players = Sets.newLinkedHashSet();
+    private final ScoreboardPacketQueue<Packet> packetQueue = new ScoreboardPacketQueue<Packet>();
 
     private void sendToPlayers(Packet packet) {
         for (EntityPlayerMP player: this.players) {
@@ -58,8 +76,27 @@ private void sendToPlayers(Packet packet) {
         }
     }
 
+    private ScoreboardPacketQueue<Packet> getPacketQueue() {
+        if (this.packetQueue.isEmpty()) {
+            ScoreboardUpdates.markDirty(this);
+        }
+        return this.packetQueue;
+    }
+
+    @Override
+    public void flushPackets() {
+        if (this.packetQueue.isEmpty()) {
+            return;
+        }
+        for (Packet packet : this.packetQueue.drain()) {
+            this.sendToPlayers(packet);
+        }
+    }
+
     @Override
     public void addPlayer(EntityPlayerMP player) {
+        // The full scoreboard already contains the queued changes
+        this.flushPackets();
         this.players.add(player);
         this.sendScoreboard(player);
     }
@@ -70,6 +107,7 @@ void sendScoreboard(EntityPlayerMP player) {
 
     @Override
     public void removePlayer(EntityPlayerMP player) {
+        this.flushPackets();
         this.players.remove(player);
         this.removeScoreboard(player);
     }
@@ -95,65 +133,90 @@ void removeObjectives(EntityPlayerMP player) {
 
     @Redirect(method = "func_96536_a", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onUpdateScoreValue(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        IMixinS3CPacketUpdateScore score = (IMixinS3CPacketUpdateScore) packet;
+        this.getPacketQueue().scoreUpdated(score.getObjectiveName(), score.getEntryName(), packet);
     }
 
     @Redirect(method = "func_96516_a", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onRemoveScore(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        this.getPacketQueue().scoresReset(((IMixinS3CPacketUpdateScore) packet).getEntryName(), packet);
     }
 
     @Redirect(method = "func_178820_a", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onRemoveScoreForObjective(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        IMixinS3CPacketUpdateScore score = (IMixinS3CPacketUpdateScore) packet;
+        this.getPacketQueue().scoreUpdated(score.getObjectiveName(), score.getEntryName(), packet);
     }
 
     @Redirect(method = "setObjectiveInDisplaySlot", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onSetObjectiveInDisplaySlot(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        this.getPacketQueue().displaySlotSet(((IMixinS3DPacketDisplayScoreboard) packet).getSlot(), packet);
     }
 
     @Redirect(method = "addPlayerToTeam", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onAddPlayerToTeam(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        this.getPacketQueue().teamPlayersChanged(((IMixinS3EPacketTeams) packet).getTeamName(), packet);
     }
 
     @Redirect(method = "removePlayerFromTeam", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onRemovePlayerFromTeam(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        this.getPacketQueue().teamPlayersChanged(((IMixinS3EPacketTeams) packet).getTeamName(), packet);
     }
 
     @Redirect(method = "func_96532_b", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onUpdateObjective(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        this.getPacketQueue().objectiveUpdated(((IMixinS3BPacketScoreboardObjective) packet).getObjectiveName(), packet);
     }
 
     @Redirect(method = "broadcastTeamCreated", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onBroadcastTeamCreated(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        this.getPacketQueue().teamCreated(((IMixinS3EPacketTeams) packet).getTeamName(), packet);
     }
 
     @Redirect(method = "sendTeamUpdate", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onSendTeamUpdate(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
+        this.getPacketQueue().teamUpdated(((IMixinS3EPacketTeams) packet).getTeamName(), packet);
     }
 
     @Redirect(method = "func_96513_c", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/ServerConfigurationManager;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V"))
     public void onRemoveTeam(ServerConfigurationManager manager, Packet packet) {
-        this.sendToPlayers(packet);
-    }
-
-    @SuppressWarnings("rawtypes")
-    @Redirect(method = "func_96549_e", at = @At(value = "INVOKE", target = "Ljava/util/List;iterator()Ljava/util/Iterator;", ordinal = 0, remap =
-            false))
-    public Iterator onGetPlayerIteratorForObjectives(List list) {
-        return this.players.iterator();
-    }
-
-    @SuppressWarnings("rawtypes")
-    @Redirect(method = "func_96546_g", at = @At(value = "INVOKE", target = "Ljava/util/List;iterator()Ljava/util/Iterator;", ordinal = 0, remap =
-            false))
-    public Iterator onGetPlayerIterator(List list) {
-        return this.players.iterator();
+        this.getPacketQueue().teamRemoved(((IMixinS3EPacketTeams) packet).getTeamName(), packet);
+    }
+
+    /**
+     * Purpose: Queue the packets of a newly displayed objective, so they are
+     * sent together with the other scoreboard changes of this tick.
+     */
+    @Overwrite
+    public void func_96549_e(ScoreObjective objective) {
+        ScoreboardPacketQueue<Packet> queue = this.getPacketQueue();
+        for (Packet packet : this.func_96550_d(objective)) {
+            if (packet instanceof S3BPacketScoreboardObjective) {
+                queue.objectiveCreated(objective.getName(), packet);
+            } else if (packet instanceof S3DPacketDisplayScoreboard) {
+                queue.displaySlotSet(((IMixinS3DPacketDisplayScoreboard) packet).getSlot(), packet);
+            } else {
+                IMixinS3CPacketUpdateScore score = (IMixinS3CPacketUpdateScore) packet;
+                queue.scoreUpdated(score.getObjectiveName(), score.getEntryName(), packet);
+            }
+        }
+        this.field_96553_b.add(objective);
+    }
+
+    /**
+     * Purpose: Queue the removal of an objective which is no longer
+     * displayed, dropping its pending changes.
+     */
+    @Overwrite
+    public void func_96546_g(ScoreObjective objective) {
+        ScoreboardPacketQueue<Packet> queue = this.getPacketQueue();
+        for (Packet packet : this.func_96548_f(objective)) {
+            if (packet instanceof S3BPacketScoreboardObjective) {
+                queue.objectiveRemoved(objective.getName(), packet);
+            } else if (packet instanceof S3DPacketDisplayScoreboard) {
+                queue.displaySlotSet(((IMixinS3DPacketDisplayScoreboard) packet).getSlot(), packet);
+            }
+        }
+        this.field_96553_b.remove(objective);
     }
 }
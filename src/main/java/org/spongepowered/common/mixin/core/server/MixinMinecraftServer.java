@@ -26,6 +26,7 @@
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.profiler.Profiler;
 import net.minecraft.server.MinecraftServer;
@@ -65,15 +66,28 @@
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.SpongeConfig.DebugCategory;
+import org.spongepowered.common.configuration.SpongeConfig.GeneralCategory;
+import org.spongepowered.common.entity.living.human.PlayerListRemovals;
 import org.spongepowered.common.event.SpongeImplEventFactory;
+import org.spongepowered.common.interfaces.IMixinAnvilChunkLoader;
 import org.spongepowered.common.interfaces.IMixinCommandSender;
 import org.spongepowered.common.interfaces.IMixinCommandSource;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.IMixinSubject;
 import org.spongepowered.common.interfaces.IMixinWorldInfo;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.common.metrics.SpongeMetrics;
+import org.spongepowered.common.scoreboard.ScoreboardUpdates;
+import org.spongepowered.common.text.action.SpongeCallbackHolder;
 import org.spongepowered.common.text.sink.SpongeMessageSinkFactory;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.util.ServerWatchdog;
+import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.DimensionManager;
 import org.spongepowered.common.world.SpongeDimensionType;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
@@ -83,9 +97,12 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @NonnullByDefault
 @Mixin(MinecraftServer.class)
@@ -96,6 +113,8 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, IMi
     @Shadow private static Logger logger;
     @Shadow private ServerConfigurationManager serverConfigManager;
     @Shadow private int tickCounter;
+
+    private ServerWatchdog watchdog;
     @Shadow public abstract EnumDifficulty getDifficulty();
     @Shadow public abstract ServerConfigurationManager getConfigurationManager();
     @Shadow public abstract void addChatMessage(IChatComponent message);
@@ -126,6 +145,47 @@ public abstract class MixinMinecraftServer implements Server, ConsoleSource, IMi
     @SideOnly(Side.SERVER)
     public abstract int getPort();
 
+    @Inject(method = "tick()V", at = @At("HEAD"))
+    public void onTickStart(CallbackInfo ci) {
+        SpongeTimings.tickStarted();
+        SpongeMetrics.tickStarted();
+        if (this.tickCounter == 0) {
+            SpongeMetrics.registerServer();
+        }
+        if (this.watchdog == null) {
+            final DebugCategory debug = Sponge.getGlobalConfig().getConfig().getDebug();
+            if (debug.getWatchdogWarnTimeout() <= 0 && debug.getWatchdogDeadlockTimeout() <= 0) {
+                return;
+            }
+            SpongeHooks.enableThreadContentionMonitoring();
+            this.watchdog = new ServerWatchdog(Thread.currentThread(), debug.getWatchdogWarnTimeout() * 1000L,
+                    debug.getWatchdogDeadlockTimeout() * 1000L);
+            this.watchdog.start();
+        }
+        this.watchdog.tickStarted();
+    }
+
+    @Inject(method = "tick()V", at = @At("RETURN"))
+    public void onTickEnd(CallbackInfo ci) {
+        ScoreboardUpdates.flush();
+        PlayerListRemovals.tick(this.tickCounter);
+        SpongeCallbackHolder.getInstance().tick(this.tickCounter);
+        SpongeTimings.tickEnded();
+        SpongeMetrics.tickEnded();
+        if (this.watchdog != null) {
+            this.watchdog.tickEnded();
+        }
+    }
+
+    @Inject(method = "stopServer()V", at = @At("HEAD"))
+    public void onStopServer(CallbackInfo ci) {
+        SpongeMetrics.unregisterAll();
+        if (this.watchdog != null) {
+            this.watchdog.shutdown();
+            this.watchdog = null;
+        }
+    }
+
     @Override
     public Optional<World> loadWorld(UUID uuid) {
         String worldFolder = Sponge.getSpongeRegistry().getWorldFolder(uuid);
@@ -369,22 +429,75 @@ protected void loadAllWorlds(String overworldFolder, String unused, long seed, W
 
     @Overwrite
     protected void initialWorldChunkLoad() {
+        List<WorldServer> worlds = new ArrayList<WorldServer>();
         for (WorldServer worldserver : DimensionManager.getWorlds()) {
             WorldProperties worldProperties = ((World) worldserver).getProperties();
             if (worldProperties.doesKeepSpawnLoaded()) {
-                prepareSpawnArea(worldserver);
+                worlds.add(worldserver);
             }
         }
+        prepareSpawnAreas(worlds);
 
         this.clearCurrentTask();
     }
 
+    private void prepareSpawnAreas(List<WorldServer> worlds) {
+        GeneralCategory general = Sponge.getGlobalConfig().getConfig().getGeneral();
+        ExecutorService executor = null;
+        if (general.parallelSpawnPreparation()) {
+            int threads = general.getSpawnPreparationThreads();
+            if (threads <= 0) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("Sponge Spawn Preparation #%d").setDaemon(true)
+                    .build());
+            // Queue the reads of all worlds up front so independent worlds are read concurrently,
+            // chunks are still inserted into their world on the main thread
+            for (WorldServer world : worlds) {
+                prefetchSpawnArea(world, executor);
+            }
+        }
+
+        try {
+            for (WorldServer world : worlds) {
+                prepareSpawnArea(world);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                for (WorldServer world : worlds) {
+                    if (world.theChunkProviderServer.chunkLoader instanceof IMixinAnvilChunkLoader) {
+                        ((IMixinAnvilChunkLoader) world.theChunkProviderServer.chunkLoader).clearPrefetchedChunks();
+                    }
+                }
+            }
+        }
+    }
+
+    private void prefetchSpawnArea(WorldServer world, ExecutorService executor) {
+        if (!(world.theChunkProviderServer.chunkLoader instanceof IMixinAnvilChunkLoader)) {
+            return;
+        }
+        IMixinAnvilChunkLoader chunkLoader = (IMixinAnvilChunkLoader) world.theChunkProviderServer.chunkLoader;
+        BlockPos blockpos = world.getSpawnPoint();
+        for (int k = -192; k <= 192; k += 16) {
+            for (int l = -192; l <= 192; l += 16) {
+                int chunkX = blockpos.getX() + k >> 4;
+                int chunkZ = blockpos.getZ() + l >> 4;
+                if (!world.theChunkProviderServer.chunkExists(chunkX, chunkZ)) {
+                    chunkLoader.prefetchChunk(chunkX, chunkZ, executor);
+                }
+            }
+        }
+    }
+
     protected void prepareSpawnArea(WorldServer world) {
         int i = 0;
         this.setUserMessage("menu.generatingTerrain");
         logger.info("Preparing start region for level " + world.provider.getDimensionId());
         BlockPos blockpos = world.getSpawnPoint();
-        long j = MinecraftServer.getCurrentTimeMillis();
+        long start = MinecraftServer.getCurrentTimeMillis();
+        long j = start;
 
         for (int k = -192; k <= 192 && this.isServerRunning(); k += 16) {
             for (int l = -192; l <= 192 && this.isServerRunning(); l += 16) {
@@ -400,6 +513,8 @@ protected void prepareSpawnArea(WorldServer world) {
             }
         }
 
+        logger.info("Prepared start region for level " + world.provider.getDimensionId() + " ("
+                + ((World) world).getName() + ") in " + (MinecraftServer.getCurrentTimeMillis() - start) + " ms");
         this.clearCurrentTask();
     }
 
@@ -466,7 +581,7 @@ public Optional<World> loadWorld(String worldName) {
         }
         this.setDifficultyForAllWorlds(this.getDifficulty());
         if (((WorldProperties) worldInfo).doesKeepSpawnLoaded()) {
-            this.prepareSpawnArea(world);
+            this.prepareSpawnAreas(Collections.singletonList(world));
         }
 
         return Optional.of((World) world);
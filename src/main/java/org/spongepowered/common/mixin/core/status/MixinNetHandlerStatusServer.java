@@ -47,6 +47,16 @@ public abstract class MixinNetHandlerStatusServer {
 
     @Overwrite
     public void processServerQuery(C00PacketServerQuery packetIn) {
+        if (!SpongeStatusResponse.allowPing(this.networkManager.getRemoteAddress())) {
+            this.networkManager.closeChannel(null);
+            return;
+        }
+        if (!SpongeStatusResponse.hasPingListeners()) {
+            // Nobody can change the response, share the encoded one
+            this.networkManager.sendPacket(SpongeStatusResponse.getCachedPacket(this.server));
+            return;
+        }
+
         // Clone the response
         ServerStatusResponse response = SpongeStatusResponse.post(this.server, new SpongeStatusClient(this.networkManager));
         if (response != null) {
@@ -102,6 +102,10 @@ private boolean readLegacy(ChannelHandlerContext ctx, ByteBuf buf) {
 
         MinecraftServer server = this.networkSystem.getServer();
         InetSocketAddress client = (InetSocketAddress) ctx.channel().remoteAddress();
+        if (!SpongeStatusResponse.allowPing(client)) {
+            ctx.close();
+            return true;
+        }
         ServerStatusResponse response;
 
         int i = buf.readableBytes();
@@ -29,7 +29,9 @@
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -50,16 +52,22 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.entity.SpongeEntityCategory;
+import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.ChunkEntityCounts;
 import org.spongepowered.common.world.extent.ExtentViewDownsize;
 import org.spongepowered.common.world.extent.ExtentViewTransform;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
+import java.util.Map;
+
 @NonnullByDefault
 @Mixin(net.minecraft.world.chunk.Chunk.class)
-public abstract class MixinChunk implements Chunk {
+public abstract class MixinChunk implements Chunk, IMixinChunk {
 
     private static final Vector2i BIOME_SIZE = SpongeChunkLayout.CHUNK_SIZE.toVector2(true);
     private Vector3i chunkPos;
@@ -68,6 +76,7 @@ public abstract class MixinChunk implements Chunk {
     private Vector2i biomeMin;
     private Vector2i biomeMax;
     private ChunkCoordIntPair chunkCoordIntPair;
+    private final ChunkEntityCounts entityCounts = new ChunkEntityCounts();
 
     @Shadow private net.minecraft.world.World worldObj;
     @Shadow public int xPosition;
@@ -104,6 +113,72 @@ public void onChunkUnloadInject(CallbackInfo ci) {
         SpongeHooks.logChunkUnload(this.worldObj, this.chunkPos);
     }
 
+    @Inject(method = "addEntity(Lnet/minecraft/entity/Entity;)V", at = @At("RETURN"))
+    public void onAddEntity(net.minecraft.entity.Entity entity, CallbackInfo ci) {
+        this.entityCounts.entityAdded(entity);
+    }
+
+    @Redirect(method = "removeEntityAtIndex(Lnet/minecraft/entity/Entity;I)V",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/util/ClassInheritanceMultiMap;remove(Ljava/lang/Object;)Z"))
+    public boolean onRemoveEntity(ClassInheritanceMultiMap entityList, Object entity) {
+        // Only count entities that were actually in the chunk
+        if (!entityList.remove(entity)) {
+            return false;
+        }
+        this.entityCounts.entityRemoved((net.minecraft.entity.Entity) entity);
+        return true;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Redirect(method = "addTileEntity(Lnet/minecraft/util/BlockPos;Lnet/minecraft/tileentity/TileEntity;)V",
+            at = @At(value = "INVOKE", target = "Ljava/util/Map;put(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;"))
+    public Object onAddTileEntity(Map tileEntityMap, Object pos, Object tileEntity) {
+        @SuppressWarnings("unchecked")
+        Object replaced = tileEntityMap.put(pos, tileEntity);
+        if (replaced != null) {
+            this.entityCounts.tileEntityRemoved((TileEntity) replaced);
+        }
+        this.entityCounts.tileEntityAdded((TileEntity) tileEntity);
+        return replaced;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Redirect(method = {"removeTileEntity(Lnet/minecraft/util/BlockPos;)V",
+            "getTileEntity(Lnet/minecraft/util/BlockPos;Lnet/minecraft/world/chunk/Chunk$EnumCreateEntityType;)Lnet/minecraft/tileentity/TileEntity;"},
+            at = @At(value = "INVOKE", target = "Ljava/util/Map;remove(Ljava/lang/Object;)Ljava/lang/Object;"))
+    public Object onRemoveTileEntity(Map tileEntityMap, Object pos) {
+        Object removed = tileEntityMap.remove(pos);
+        if (removed != null) {
+            this.entityCounts.tileEntityRemoved((TileEntity) removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public int getEntityCount() {
+        return this.entityCounts.getEntityCount();
+    }
+
+    @Override
+    public int getEntityCount(SpongeEntityCategory category) {
+        return this.entityCounts.getEntityCount(category);
+    }
+
+    @Override
+    public int getEntityCount(Class<? extends net.minecraft.entity.Entity> type) {
+        return this.entityCounts.getEntityCount(type);
+    }
+
+    @Override
+    public int getTileEntityCount() {
+        return this.entityCounts.getTileEntityCount();
+    }
+
+    @Override
+    public int getTileEntityCount(Class<? extends TileEntity> type) {
+        return this.entityCounts.getTileEntityCount(type);
+    }
+
     @Override
     public Vector3i getPosition() {
         return this.chunkPos;
@@ -55,6 +55,7 @@
 import net.minecraft.profiler.Profiler;
 import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.gui.IUpdatePlayerListBox;
 import net.minecraft.server.management.ServerConfigurationManager;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.EnumFacing;
@@ -114,9 +115,11 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.ActiveConfigSnapshot;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.effect.particle.SpongeParticleEffect;
 import org.spongepowered.common.effect.particle.SpongeParticleHelper;
@@ -126,6 +129,8 @@
 import org.spongepowered.common.interfaces.block.IMixinBlock;
 import org.spongepowered.common.registry.SpongeGameRegistry;
 import org.spongepowered.common.scoreboard.SpongeScoreboard;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.TimingPhase;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.world.DimensionManager;
@@ -159,6 +164,7 @@ public abstract class MixinWorld implements World, IMixinWorld {
     private static final Vector2i BIOME_SIZE = BIOME_MAX.sub(BIOME_MIN).add(1, 1);
     private boolean keepSpawnLoaded;
     public SpongeConfig<SpongeConfig.WorldConfig> worldConfig;
+    private volatile ActiveConfigSnapshot activeConfig;
     private volatile Context worldContext;
     private ImmutableList<Populator> populators;
     private ImmutableList<GeneratorPopulator> generatorPopulators;
@@ -229,6 +235,29 @@ public void onGetCollidingBoundingBoxes(net.minecraft.entity.Entity entity, net.
         }
     }
 
+    @Redirect(method = "updateEntities()V",
+            at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;updateEntity(Lnet/minecraft/entity/Entity;)V"))
+    public void onUpdateEntity(net.minecraft.world.World world, net.minecraft.entity.Entity entity) {
+        if (SpongeTimings.isTiming()) {
+            final long start = System.nanoTime();
+            world.updateEntity(entity);
+            SpongeTimings.record(TimingPhase.ENTITY_TICK, entity.getClass(), null, start);
+        } else {
+            world.updateEntity(entity);
+        }
+    }
+
+    @Redirect(method = "updateEntities()V", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/gui/IUpdatePlayerListBox;update()V"))
+    public void onUpdateTileEntity(IUpdatePlayerListBox tileEntity) {
+        if (SpongeTimings.isTiming()) {
+            final long start = System.nanoTime();
+            tileEntity.update();
+            SpongeTimings.record(TimingPhase.TILE_ENTITY_TICK, tileEntity.getClass(), null, start);
+        } else {
+            tileEntity.update();
+        }
+    }
+
     @Override
     public UUID getUniqueId() {
         return ((WorldProperties) this.worldInfo).getUniqueId();
@@ -544,6 +573,18 @@ public SpongeConfig<SpongeConfig.WorldConfig> getWorldConfig() {
         return this.worldConfig;
     }
 
+    @Override
+    public ActiveConfigSnapshot getActiveConfig() {
+        ActiveConfigSnapshot snapshot = this.activeConfig;
+        // Read the version before resolving, a reload while resolving just refreshes again on the next call
+        final int version = SpongeConfig.getVersion();
+        if (snapshot == null || snapshot.getVersion() != version) {
+            snapshot = new ActiveConfigSnapshot(SpongeHooks.resolveActiveConfig((net.minecraft.world.World) (Object) this), version);
+            this.activeConfig = snapshot;
+        }
+        return snapshot;
+    }
+
     @Override
     public void playSound(SoundType sound, Vector3d position, double volume) {
         this.playSound(sound, position, volume, 1);
@@ -24,7 +24,8 @@
  */
 package org.spongepowered.common.mixin.core.world;
 
-import com.google.common.collect.ImmutableList;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.scoreboard.ScoreboardSaveData;
 import net.minecraft.util.BlockPos;
@@ -50,8 +51,13 @@
 import org.spongepowered.common.interfaces.IMixinBlockUpdate;
 import org.spongepowered.common.interfaces.IMixinScoreboardSaveData;
 import org.spongepowered.common.interfaces.IMixinWorld;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.TimingPhase;
+import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.world.PendingTickIndex;
 
 import java.util.Collection;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -62,6 +68,8 @@ public abstract class MixinWorldServer extends MixinWorld {
     @Shadow private Set<NextTickListEntry> pendingTickListEntriesHashSet;
     @Shadow private TreeSet<NextTickListEntry> pendingTickListEntriesTreeSet;
 
+    private final PendingTickIndex<NextTickListEntry> pendingTickIndex = new PendingTickIndex<NextTickListEntry>();
+
     @Inject(method = "createSpawnPosition(Lnet/minecraft/world/WorldSettings;)V", at = @At("HEAD"), cancellable = true)
     public void onCreateSpawnPosition(WorldSettings settings, CallbackInfo ci) {
         GeneratorType generatorType = (GeneratorType) settings.getTerrainType();
@@ -94,15 +102,9 @@ public void onPostInit(CallbackInfoReturnable<World> ci) {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Collection<ScheduledBlockUpdate> getScheduledUpdates(int x, int y, int z) {
-        BlockPos position = new BlockPos(x, y, z);
-        ImmutableList.Builder<ScheduledBlockUpdate> builder = ImmutableList.builder();
-        for (NextTickListEntry sbu : this.pendingTickListEntriesTreeSet) {
-            if (sbu.position.equals(position)) {
-                builder.add((ScheduledBlockUpdate) sbu);
-            }
-        }
-        return builder.build();
+        return (Collection<ScheduledBlockUpdate>) (Collection<?>) this.pendingTickIndex.get(VecHelper.toLong(x, y, z));
     }
 
     private NextTickListEntry tmpScheduledObj;
@@ -133,10 +135,39 @@ public ScheduledBlockUpdate addScheduledUpdate(int x, int y, int z, int priority
     @Override
     public void removeScheduledUpdate(int x, int y, int z, ScheduledBlockUpdate update) {
         // Note: Ignores position argument
-        this.pendingTickListEntriesHashSet.remove(update);
+        this.pendingTickIndex.removePending(this.pendingTickListEntriesHashSet, ((NextTickListEntry) update).position.toLong(),
+                (NextTickListEntry) update);
         this.pendingTickListEntriesTreeSet.remove(update);
     }
 
+    // The hash set mirrors the membership of the tree set, so every add and remove on it is mirrored into the position index
+
+    @Redirect(method = {"updateBlockTick(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V",
+            "scheduleBlockUpdate(Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/Block;II)V", "func_180497_b"},
+            at = @At(value = "INVOKE", target = "Ljava/util/Set;add(Ljava/lang/Object;)Z"))
+    private boolean onAddPendingTick(Set<NextTickListEntry> pendingTicks, Object obj) {
+        NextTickListEntry entry = (NextTickListEntry) obj;
+        return this.pendingTickIndex.addPending(pendingTicks, entry.position.toLong(), entry);
+    }
+
+    @Redirect(method = "tickUpdates(Z)Z", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/Block;updateTick(Lnet/minecraft/world/World;"
+            + "Lnet/minecraft/util/BlockPos;Lnet/minecraft/block/state/IBlockState;Ljava/util/Random;)V"))
+    private void onUpdateTick(Block block, World world, BlockPos pos, IBlockState state, Random rand) {
+        if (SpongeTimings.isTiming()) {
+            final long start = System.nanoTime();
+            block.updateTick(world, pos, state, rand);
+            SpongeTimings.record(TimingPhase.SCHEDULED_BLOCK_UPDATE, block.getClass(), null, start);
+        } else {
+            block.updateTick(world, pos, state, rand);
+        }
+    }
+
+    @Redirect(method = {"tickUpdates(Z)Z", "func_175712_a"}, at = @At(value = "INVOKE", target = "Ljava/util/Set;remove(Ljava/lang/Object;)Z"))
+    private boolean onRemovePendingTick(Set<NextTickListEntry> pendingTicks, Object obj) {
+        NextTickListEntry entry = (NextTickListEntry) obj;
+        return this.pendingTickIndex.removePending(pendingTicks, entry.position.toLong(), entry);
+    }
+
     @Redirect(method = "updateAllPlayersSleepingFlag()V", at = @At(value = "INVOKE",
             target = "Lnet/minecraft/entity/player/EntityPlayer;isSpectator()Z"))
     public boolean isSpectatorOrIgnored(EntityPlayer entityPlayer) {
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.storage;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.interfaces.IMixinAnvilChunkLoader;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+@NonnullByDefault
+@Mixin(AnvilChunkLoader.class)
+public abstract class MixinAnvilChunkLoader implements IMixinAnvilChunkLoader {
+
+    @Shadow private File chunkSaveLocation;
+    @SuppressWarnings("rawtypes")
+    @Shadow private Set pendingAnvilChunksCoordinates;
+    @Shadow private Object syncLockObject;
+
+    @Shadow protected abstract Chunk checkedReadChunkFromNBT(World worldIn, int x, int z, NBTTagCompound compound);
+
+    private final Map<Long, Future<NBTTagCompound>> prefetchedChunks = new ConcurrentHashMap<Long, Future<NBTTagCompound>>();
+
+    @Override
+    public void prefetchChunk(final int x, final int z, ExecutorService executor) {
+        long key = ChunkCoordIntPair.chunkXZ2Int(x, z);
+        if (this.prefetchedChunks.containsKey(key) || isPendingSave(x, z)) {
+            // A chunk waiting to be saved is loaded from the pending data, not the region file
+            return;
+        }
+        this.prefetchedChunks.put(key, executor.submit(new Callable<NBTTagCompound>() {
+
+            @Override
+            public NBTTagCompound call() throws Exception {
+                // RegionFileCache and RegionFile are synchronized, so reading from worker threads is safe
+                DataInputStream input = RegionFileCache.getChunkInputStream(MixinAnvilChunkLoader.this.chunkSaveLocation, x, z);
+                if (input == null) {
+                    return null;
+                }
+                try {
+                    return CompressedStreamTools.read(input);
+                } finally {
+                    input.close();
+                }
+            }
+        }));
+    }
+
+    @Override
+    public void clearPrefetchedChunks() {
+        for (Future<NBTTagCompound> future : this.prefetchedChunks.values()) {
+            future.cancel(false);
+        }
+        this.prefetchedChunks.clear();
+    }
+
+    @Inject(method = "addChunkToPending(Lnet/minecraft/world/ChunkCoordIntPair;Lnet/minecraft/nbt/NBTTagCompound;)V", at = @At("HEAD"))
+    public void onAddChunkToPending(ChunkCoordIntPair pair, NBTTagCompound compound, CallbackInfo ci) {
+        if (this.prefetchedChunks.isEmpty()) {
+            return;
+        }
+        // The prefetched data is older than the data being saved
+        Future<NBTTagCompound> future = this.prefetchedChunks.remove(ChunkCoordIntPair.chunkXZ2Int(pair.chunkXPos, pair.chunkZPos));
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    @Inject(method = "loadChunk(Lnet/minecraft/world/World;II)Lnet/minecraft/world/chunk/Chunk;", at = @At("HEAD"), cancellable = true)
+    public void onLoadChunk(World worldIn, int x, int z, CallbackInfoReturnable<Chunk> cir) {
+        if (this.prefetchedChunks.isEmpty()) {
+            return;
+        }
+        Future<NBTTagCompound> future = this.prefetchedChunks.remove(ChunkCoordIntPair.chunkXZ2Int(x, z));
+        if (future == null) {
+            return;
+        }
+        if (isPendingSave(x, z)) {
+            // Let the regular load pick up the data that is waiting to be saved
+            future.cancel(false);
+            return;
+        }
+
+        NBTTagCompound compound;
+        try {
+            compound = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            // Fall back to the regular read, which reports the error
+            return;
+        }
+
+        // The chunk has no stored data, let the provider generate it
+        cir.setReturnValue(compound == null ? null : this.checkedReadChunkFromNBT(worldIn, x, z, compound));
+    }
+
+    private boolean isPendingSave(int x, int z) {
+        synchronized (this.syncLockObject) {
+            return this.pendingAnvilChunksCoordinates.contains(new ChunkCoordIntPair(x, z));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entityactivation;
+
+import net.minecraft.entity.Entity;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.entity.EntityActivationRange;
+import org.spongepowered.common.interfaces.IMixinEntity;
+import org.spongepowered.common.interfaces.IMixinWorldEntityActivation;
+
+@NonnullByDefault
+@Mixin(net.minecraft.world.World.class)
+public abstract class MixinWorld implements IMixinWorldEntityActivation {
+
+    @Shadow public boolean isRemote;
+
+    private int activeEntities;
+    private int inactiveEntities;
+    private int lastActiveEntities;
+    private int lastInactiveEntities;
+
+    @Inject(method = "updateEntities()V", at = @At("HEAD"))
+    public void onUpdateEntities(CallbackInfo ci) {
+        if (this.isRemote) {
+            return;
+        }
+        this.lastActiveEntities = this.activeEntities;
+        this.lastInactiveEntities = this.inactiveEntities;
+        this.activeEntities = 0;
+        this.inactiveEntities = 0;
+        EntityActivationRange.activateEntities((net.minecraft.world.World) (Object) this);
+    }
+
+    @Redirect(method = "updateEntityWithOptionalForce", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;onUpdate()V"))
+    public void onUpdateEntity(Entity entity) {
+        if (this.isRemote) {
+            entity.onUpdate();
+        } else if (EntityActivationRange.checkIfActive(entity)) {
+            this.activeEntities++;
+            entity.onUpdate();
+        } else {
+            this.inactiveEntities++;
+            ((IMixinEntity) entity).inactiveTick();
+        }
+    }
+
+    @Override
+    public int getActiveEntityCount() {
+        return this.lastActiveEntities;
+    }
+
+    @Override
+    public int getInactiveEntityCount() {
+        return this.lastInactiveEntities;
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scoreboard;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the scoreboard packets produced during a tick so they can be
+ * flushed at once, keeping only what the client needs to end up in the same
+ * state.
+ *
+ * <p>Score values, objective display names, display slots and team info are
+ * last value wins. An objective or team which is created and removed again
+ * before the flush is dropped together with everything that referenced it,
+ * and removals drop pending changes they make irrelevant.</p>
+ *
+ * @param <P> The packet type
+ */
+public final class ScoreboardPacketQueue<P> {
+
+    private enum Kind {
+        OBJECTIVE_CREATE,
+        OBJECTIVE_UPDATE,
+        OBJECTIVE_REMOVE,
+        DISPLAY_SLOT,
+        SCORE,
+        SCORE_RESET,
+        TEAM_CREATE,
+        TEAM_UPDATE,
+        TEAM_PLAYERS,
+        TEAM_REMOVE
+    }
+
+    private final Map<Object, Change<P>> pending = Maps.newLinkedHashMap();
+
+    public void objectiveCreated(String objective, P packet) {
+        this.append(new Change<P>(Kind.OBJECTIVE_CREATE, objective, null, packet));
+    }
+
+    public void objectiveUpdated(String objective, P packet) {
+        this.replace(new Change<P>(Kind.OBJECTIVE_UPDATE, objective, null, packet));
+    }
+
+    public void objectiveRemoved(String objective, P packet) {
+        boolean created = false;
+        for (Iterator<Change<P>> it = this.pending.values().iterator(); it.hasNext();) {
+            Change<P> change = it.next();
+            if (change.isObjective() && change.name.equals(objective)) {
+                created |= change.kind == Kind.OBJECTIVE_CREATE;
+                it.remove();
+            }
+        }
+        if (!created) {
+            this.append(new Change<P>(Kind.OBJECTIVE_REMOVE, objective, null, packet));
+        }
+    }
+
+    public void displaySlotSet(int slot, P packet) {
+        this.replace(new Change<P>(Kind.DISPLAY_SLOT, Integer.toString(slot), null, packet));
+    }
+
+    /**
+     * Queues a score update or the removal of a score from a single
+     * objective.
+     *
+     * @param objective The objective name
+     * @param entry The score entry
+     * @param packet The packet
+     */
+    public void scoreUpdated(String objective, String entry, P packet) {
+        this.replace(new Change<P>(Kind.SCORE, objective, entry, packet));
+    }
+
+    /**
+     * Queues the removal of an entry from all objectives.
+     *
+     * @param entry The score entry
+     * @param packet The packet
+     */
+    public void scoresReset(String entry, P packet) {
+        boolean reset = false;
+        for (Iterator<Change<P>> it = this.pending.values().iterator(); it.hasNext();) {
+            Change<P> change = it.next();
+            if (change.kind == Kind.SCORE && change.entry.equals(entry)) {
+                it.remove();
+            } else if (change.kind == Kind.SCORE_RESET && change.name.equals(entry)) {
+                reset = true;
+            }
+        }
+        if (!reset) {
+            this.append(new Change<P>(Kind.SCORE_RESET, entry, null, packet));
+        }
+    }
+
+    public void teamCreated(String team, P packet) {
+        this.append(new Change<P>(Kind.TEAM_CREATE, team, null, packet));
+    }
+
+    public void teamUpdated(String team, P packet) {
+        this.replace(new Change<P>(Kind.TEAM_UPDATE, team, null, packet));
+    }
+
+    public void teamPlayersChanged(String team, P packet) {
+        this.append(new Change<P>(Kind.TEAM_PLAYERS, team, null, packet));
+    }
+
+    public void teamRemoved(String team, P packet) {
+        boolean created = false;
+        for (Iterator<Change<P>> it = this.pending.values().iterator(); it.hasNext();) {
+            Change<P> change = it.next();
+            if (change.isTeam() && change.name.equals(team)) {
+                created |= change.kind == Kind.TEAM_CREATE;
+                it.remove();
+            }
+        }
+        if (!created) {
+            this.append(new Change<P>(Kind.TEAM_REMOVE, team, null, packet));
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.pending.isEmpty();
+    }
+
+    /**
+     * Removes and returns the queued packets in the order they should be
+     * sent.
+     *
+     * @return The packets to send
+     */
+    public List<P> drain() {
+        List<P> packets = Lists.newArrayListWithCapacity(this.pending.size());
+        for (Change<P> change : this.pending.values()) {
+            packets.add(change.packet);
+        }
+        this.pending.clear();
+        return packets;
+    }
+
+    private void append(Change<P> change) {
+        this.pending.put(change, change);
+    }
+
+    private void replace(Change<P> change) {
+        // Move to the end, a newer value may depend on something queued after the old one
+        Key key = new Key(change.kind, change.name, change.entry);
+        this.pending.remove(key);
+        this.pending.put(key, change);
+    }
+
+    private static final class Change<P> {
+
+        final Kind kind;
+        final String name;
+        final String entry;
+        final P packet;
+
+        Change(Kind kind, String name, String entry, P packet) {
+            this.kind = kind;
+            this.name = name;
+            this.entry = entry;
+            this.packet = packet;
+        }
+
+        boolean isObjective() {
+            return this.kind == Kind.OBJECTIVE_CREATE || this.kind == Kind.OBJECTIVE_UPDATE || this.kind == Kind.SCORE;
+        }
+
+        boolean isTeam() {
+            return this.kind == Kind.TEAM_CREATE || this.kind == Kind.TEAM_UPDATE || this.kind == Kind.TEAM_PLAYERS;
+        }
+
+    }
+
+    private static final class Key {
+
+        private final Kind kind;
+        private final String name;
+        private final String entry;
+
+        Key(Kind kind, String name, String entry) {
+            this.kind = kind;
+            this.name = name;
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.kind == other.kind && this.name.equals(other.name) && Objects.equal(this.entry, other.entry);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.kind, this.name, this.entry);
+        }
+
+    }
+
+}
@@ -26,6 +26,9 @@
 
 import com.flowpowered.math.GenericMath;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import ninja.leaping.configurate.ConfigurationNode;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import ninja.leaping.configurate.hocon.HoconConfigurationLoader;
@@ -45,10 +48,14 @@
  * Pagination calculator for players.
  */
 public class PlayerPaginationCalculator implements PaginationCalculator<Player> {
-    private static final String NON_UNICODE_CHARS;
-    private static final int[] NON_UNICODE_CHAR_WIDTHS;
-    private static final byte[] UNICODE_CHAR_WIDTHS;
     private static final int LINE_WIDTH = 320;
+    /**
+     * Widths of every character of the BMP in half columns, plain and bold.
+     * Characters outside of it are given the width of the replacement
+     * character.
+     */
+    private static final byte[] CHAR_WIDTHS = new byte[Character.MAX_VALUE + 1];
+    private static final byte[] BOLD_CHAR_WIDTHS = new byte[Character.MAX_VALUE + 1];
 
     static {
         ConfigurationLoader<CommentedConfigurationNode> loader = HoconConfigurationLoader.builder()
@@ -56,26 +63,41 @@ public class PlayerPaginationCalculator implements PaginationCalculator<Player>
                 .setPreservesHeader(false).build();
         try {
             ConfigurationNode node = loader.load();
-            NON_UNICODE_CHARS = node.getNode("non-unicode").getString();
-            List<? extends ConfigurationNode> charWidths = node.getNode("char-widths").getChildrenList();
-            int[] nonUnicodeCharWidths = new int[charWidths.size()];
-            for (int i = 0; i < nonUnicodeCharWidths.length; ++i) {
-                nonUnicodeCharWidths[i] = charWidths.get(i).getInt();
-            }
-            NON_UNICODE_CHAR_WIDTHS = nonUnicodeCharWidths;
+            List<? extends ConfigurationNode> glyphWidths = node.getNode("glyph-widths").getChildrenList();
+            for (int i = 0; i < glyphWidths.size() && i < CHAR_WIDTHS.length; ++i) {
+                // MC unicode -- what does this even do? but it's client-only so we can't use it directly :/
+                int glyphWidth = glyphWidths.get(i).getInt();
+                int j = (glyphWidth & 0xFF) >>> 4;
+                int k = glyphWidth & 15;
 
+                if (k > 7) {
+                    k = 15;
+                    j = 0;
+                }
+                int width = ((k + 1) - j) / 2 + 1;
+                CHAR_WIDTHS[i] = (byte) (width * 2);
+                BOLD_CHAR_WIDTHS[i] = (byte) (width * 2 + 1);
+            }
 
-            List<? extends ConfigurationNode> glyphWidths = node.getNode("glyph-widths").getChildrenList();
-            byte[] unicodeCharWidths = new byte[glyphWidths.size()];
-            for (int i = 0; i < nonUnicodeCharWidths.length; ++i) {
-                unicodeCharWidths[i] = (byte) glyphWidths.get(i).getInt();
+            String nonUnicodeChars = node.getNode("non-unicode").getString();
+            List<? extends ConfigurationNode> charWidths = node.getNode("char-widths").getChildrenList();
+            // Backwards so the first entry of a character listed twice wins
+            for (int i = Math.min(charWidths.size(), nonUnicodeChars.length()) - 1; i >= 0; --i) {
+                int width = charWidths.get(i).getInt();
+                CHAR_WIDTHS[nonUnicodeChars.charAt(i)] = (byte) (width * 2);
+                BOLD_CHAR_WIDTHS[nonUnicodeChars.charAt(i)] = (byte) ((width + 1) * 2);
             }
-            UNICODE_CHAR_WIDTHS = unicodeCharWidths;
         } catch (IOException e) {
             throw new ExceptionInInitializerError(e);
         }
     }
 
+    /**
+     * Lengths of texts that do not depend on the locale of the player,
+     * keyed by identity and dropped along with the text.
+     */
+    private final Cache<Text, Integer> lengthCache = CacheBuilder.newBuilder().weakKeys().recordStats().build();
+
     @Override
     public int getLinesPerPage(Player source) {
         return 20;
@@ -86,49 +108,51 @@ public int getLines(Player source, Text text) {
         return (int) Math.ceil((double) getLength(source, text) / LINE_WIDTH);
     }
 
-    private double getWidth(int codePoint, boolean isBold) {
-        int nonUnicodeIdx = NON_UNICODE_CHARS.indexOf(codePoint);
-        double width;
-        if (nonUnicodeIdx != -1) {
-            width = NON_UNICODE_CHAR_WIDTHS[nonUnicodeIdx];
-            if (isBold) {
-                width += 1;
-            }
-        } else {
-            // MC unicode -- what does this even do? but it's client-only so we can't use it directly :/
-            int j = UNICODE_CHAR_WIDTHS[codePoint] >>> 4;
-            int k = UNICODE_CHAR_WIDTHS[codePoint] & 15;
-
-            if (k > 7) {
-                k = 15;
-                j = 0;
-            }
-            width = ((k + 1) - j) / 2 + 1;
-            if (isBold) {
-                width += 0.5;
-            }
+    private static int getHalfWidth(int codePoint, boolean isBold) {
+        if (codePoint > Character.MAX_VALUE) {
+            codePoint = 0xFFFD;
         }
-        return width;
+        return isBold ? BOLD_CHAR_WIDTHS[codePoint] : CHAR_WIDTHS[codePoint];
+    }
+
+    private static double getWidth(int codePoint, boolean isBold) {
+        return getHalfWidth(codePoint, isBold) / 2.0;
+    }
+
+    CacheStats getLengthCacheStats() {
+        return this.lengthCache.stats();
     }
 
     private int getLength(Player source, Text text) {
-        double columnCount = 0d;
+        Integer cached = this.lengthCache.getIfPresent(text);
+        if (cached != null) {
+            return cached;
+        }
+
+        int halfColumns = 0;
+        boolean localized = false;
         for (Text child : text.withChildren()) {
             final String txt;
             if (child instanceof Text.Literal) {
                 txt = ((Text.Literal) child).getContent();
             } else if (child instanceof Text.Translatable) {
                 txt = Texts.toPlain(child, source.getLocale());
+                localized = true;
             } else {
                 continue;
             }
             boolean isBold = child.getStyle().contains(TextStyles.BOLD);
-            for (int i = 0; i < txt.length(); ++i) {
-                columnCount += getWidth(txt.codePointAt(i), isBold);
+            for (int i = 0; i < txt.length(); ) {
+                int codePoint = txt.codePointAt(i);
+                halfColumns += getHalfWidth(codePoint, isBold);
+                i += Character.charCount(codePoint);
             }
         }
-        return (int) Math.ceil(columnCount);
-
+        int length = (halfColumns + 1) / 2;
+        if (!localized) {
+            this.lengthCache.put(text, length);
+        }
+        return length;
     }
 
     @Override
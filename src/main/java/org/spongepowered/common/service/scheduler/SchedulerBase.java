@@ -30,6 +30,9 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.service.scheduler.Task;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.metrics.SpongeMetrics;
+import org.spongepowered.common.timings.SpongeTimings;
+import org.spongepowered.common.timings.TimingPhase;
 
 import java.util.Map;
 import java.util.Set;
@@ -92,6 +95,10 @@ protected Set<Task> getScheduledTasks() {
         }
     }
 
+    protected int getTaskCount() {
+        return this.taskMap.size();
+    }
+
     /**
      * Process all tasks in the map.
      */
@@ -175,8 +182,15 @@ protected void startTask(final ScheduledTask task) {
             @Override
             public void run() {
                 task.setState(ScheduledTask.ScheduledTaskState.RUNNING);
+                SpongeMetrics.taskRun();
                 try {
-                    task.getRunnable().run();
+                    if (SpongeTimings.isTiming()) {
+                        final long start = System.nanoTime();
+                        task.getRunnable().run();
+                        SpongeTimings.record(TimingPhase.SCHEDULER_TASK, task.getRunnable().getClass(), task.getOwner(), start);
+                    } else {
+                        task.getRunnable().run();
+                    }
                 } catch (Throwable t) {
                     Sponge.getLogger().error("The Scheduler tried to run the task {} owned by {}, but an error occured.", task.getName(),
                             task.getOwner(), t);
@@ -100,6 +100,17 @@ public Set<Task> getScheduledTasks(boolean async) {
         }
     }
 
+    /**
+     * Gets the number of tasks currently queued in one of the schedulers,
+     * without copying them.
+     *
+     * @param async Whether to count the asynchronous tasks
+     * @return The number of queued tasks
+     */
+    public int getTaskCount(boolean async) {
+        return getDelegate(async ? ScheduledTask.TaskSynchronicity.ASYNCHRONOUS : ScheduledTask.TaskSynchronicity.SYNCHRONOUS).getTaskCount();
+    }
+
     @Override
     public Set<Task> getScheduledTasks(Object plugin) {
         String testOwnerId = checkPluginInstance(plugin).getId();
@@ -45,6 +45,7 @@
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -82,6 +83,7 @@ public class SqlServiceImpl implements SqlService, Closeable {
         PROTOCOL_SPECIFIC_PROPS = build.build();
     }
 
+    private final AtomicInteger poolCounter = new AtomicInteger();
     private final LoadingCache<ConnectionInfo, HikariDataSource> connectionCache =
             CacheBuilder.newBuilder().removalListener(new RemovalListener<ConnectionInfo, HikariDataSource>() {
                 @Override
@@ -105,6 +107,9 @@ public HikariDataSource load(@Nonnull ConnectionInfo key) throws Exception {
                         config.setDataSourceProperties(driverSpecificProperties);
                     }
                     config.setJdbcUrl(key.getAuthlessUrl());
+                    // Exposes the pool state under com.zaxxer.hikari:type=Pool (<name>)
+                    config.setPoolName("sponge-sql-" + SqlServiceImpl.this.poolCounter.incrementAndGet());
+                    config.setRegisterMbeans(true);
                     return new HikariDataSource(config);
                 }
             });
@@ -120,6 +125,15 @@ public DataSource getDataSource(String jdbcConnection) throws SQLException {
         }
     }
 
+    /**
+     * Gets the number of connection pools currently held open.
+     *
+     * @return The number of pools
+     */
+    public int getConnectionPoolCount() {
+        return (int) this.connectionCache.size();
+    }
+
     @Override
     public void close() throws IOException {
         this.connectionCache.invalidateAll();
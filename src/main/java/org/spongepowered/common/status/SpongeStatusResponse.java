@@ -26,24 +26,88 @@
 
 import static org.spongepowered.common.text.SpongeTexts.COLOR_CHAR;
 
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
 import net.minecraft.network.ServerStatusResponse;
+import net.minecraft.network.status.server.S00PacketServerInfo;
 import net.minecraft.server.MinecraftServer;
 import org.spongepowered.api.MinecraftVersion;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.server.StatusPingEvent;
+import org.spongepowered.api.service.event.EventManager;
 import org.spongepowered.api.status.StatusClient;
 import org.spongepowered.api.status.StatusResponse;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.event.SpongeEventManager;
+import org.spongepowered.common.interfaces.IMixinS00PacketServerInfo;
 import org.spongepowered.common.text.LegacyTextRepresentation;
 import org.spongepowered.common.text.SpongeTexts;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import javax.annotation.Nullable;
 
 public final class SpongeStatusResponse {
 
+    /**
+     * How long an encoded response is reused when no plugin listens to
+     * status pings, in milliseconds.
+     */
+    private static final long CACHE_TIME = 1000;
+
+    private static final StatusPingLimiter limiter = new StatusPingLimiter();
+    @Nullable private static volatile CachedResponse cachedResponse;
+
     private SpongeStatusResponse() {
     }
 
+    /**
+     * Checks the ping rate limit of the address a status request came from.
+     *
+     * @param address The remote address
+     * @return Whether the request should be answered
+     */
+    public static boolean allowPing(SocketAddress address) {
+        if (!(address instanceof InetSocketAddress)) {
+            return true;
+        }
+        return limiter.tryAcquire(((InetSocketAddress) address).getAddress(), Sponge.getGlobalConfig().getConfig().getGeneral().getStatusPingLimit(),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Gets whether a {@link StatusPingEvent} has to be posted for every
+     * status request, rather than answering from the cache.
+     *
+     * @return Whether any plugin listens to status pings
+     */
+    public static boolean hasPingListeners() {
+        EventManager eventManager = Sponge.getGame().getEventManager();
+        return !(eventManager instanceof SpongeEventManager) || ((SpongeEventManager) eventManager).hasHandlers(StatusPingEvent.class);
+    }
+
+    /**
+     * Gets a status packet with the response already encoded, shared by all
+     * requests within {@link #CACHE_TIME}. Only valid when there are no
+     * {@link #hasPingListeners() ping listeners}.
+     *
+     * @param server The server
+     * @return The status packet
+     */
+    public static S00PacketServerInfo getCachedPacket(MinecraftServer server) {
+        final long now = System.currentTimeMillis();
+        CachedResponse cached = cachedResponse;
+        if (cached == null || now - cached.created >= CACHE_TIME) {
+            cached = new CachedResponse(create(server), now);
+            cachedResponse = cached;
+        }
+        S00PacketServerInfo packet = new S00PacketServerInfo(cached.response);
+        ((IMixinS00PacketServerInfo) packet).setEncodedResponse(cached.encoded);
+        return packet;
+    }
+
     public static ServerStatusResponse post(MinecraftServer server, StatusClient client) {
         return call(create(server), client);
     }
@@ -109,4 +173,33 @@ public static String getUnformattedMotd(ServerStatusResponse response) {
         return getFirstLine(LegacyTextRepresentation.strip(response.getServerDescription().getUnformattedText(), COLOR_CHAR, true));
     }
 
+    private static final class CachedResponse {
+
+        final ServerStatusResponse response;
+        final long created;
+        @Nullable final byte[] encoded;
+
+        CachedResponse(ServerStatusResponse response, long created) {
+            this.response = response;
+            this.created = created;
+            this.encoded = encode(response);
+        }
+
+        @Nullable
+        private static byte[] encode(ServerStatusResponse response) {
+            PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+            try {
+                new S00PacketServerInfo(response).writePacketData(buf);
+                byte[] encoded = new byte[buf.readableBytes()];
+                buf.readBytes(encoded);
+                return encoded;
+            } catch (IOException e) {
+                // Leave it to the packet to serialize the response itself
+                return null;
+            } finally {
+                buf.release();
+            }
+        }
+    }
+
 }
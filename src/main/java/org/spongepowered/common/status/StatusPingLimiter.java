@@ -0,0 +1,80 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.status;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of status pings accepted from one address within each
+ * second.
+ */
+public final class StatusPingLimiter {
+
+    private final LoadingCache<InetAddress, Window> windows = CacheBuilder.newBuilder()
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build(new CacheLoader<InetAddress, Window>() {
+                @Override
+                public Window load(InetAddress key) throws Exception {
+                    return new Window();
+                }
+            });
+
+    /**
+     * Tries to accept a ping from the given address.
+     *
+     * @param address The address of the client
+     * @param limit The maximum number of pings per second, 0 or less for no
+     *        limit
+     * @param now The current time in milliseconds
+     * @return Whether the ping should be answered
+     */
+    public boolean tryAcquire(InetAddress address, int limit, long now) {
+        return limit <= 0 || this.windows.getUnchecked(address).tryAcquire(limit, now / 1000);
+    }
+
+    private static final class Window {
+
+        private long second;
+        private int count;
+
+        synchronized boolean tryAcquire(int limit, long second) {
+            if (second != this.second) {
+                this.second = second;
+                this.count = 0;
+            }
+            if (this.count >= limit) {
+                return false;
+            }
+            this.count++;
+            return true;
+        }
+    }
+
+}
@@ -29,48 +29,92 @@
 import com.google.common.collect.UnmodifiableIterator;
 import net.minecraft.util.IChatComponent;
 import org.spongepowered.common.interfaces.text.IMixinChatComponent;
+import org.spongepowered.common.interfaces.text.IMixinChatComponentTranslation;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 import javax.annotation.Nullable;
 
+/**
+ * Walks a component tree depth-first, yielding each component before its
+ * children. Pending components are kept on an explicit array stack so deep
+ * trees neither recurse nor chain nested iterators.
+ *
+ * <p>Translation components are not yielded themselves, only their arguments
+ * and siblings, matching
+ * {@link IMixinChatComponent#withChildren()}.</p>
+ */
 public class ChatComponentIterator extends UnmodifiableIterator<IChatComponent> {
 
-    private IMixinChatComponent component;
-    private Iterator<IChatComponent> children;
-    @Nullable private Iterator<IChatComponent> currentChildIterator;
+    private static final int INITIAL_CAPACITY = 16;
+
+    @Nullable private IChatComponent root;
+    private IChatComponent[] stack = new IChatComponent[INITIAL_CAPACITY];
+    private int size;
 
     public ChatComponentIterator(IMixinChatComponent component) {
-        this.component = checkNotNull(component, "component");
+        this.root = (IChatComponent) checkNotNull(component, "component");
     }
 
     public ChatComponentIterator(Iterator<IChatComponent> children) {
-        this.children = checkNotNull(children, "children");
+        pushAll(checkNotNull(children, "children"));
     }
 
     @Override
     public boolean hasNext() {
-        return this.component != null || (this.currentChildIterator != null && this.currentChildIterator.hasNext()) || this.children.hasNext();
+        if (this.root != null) {
+            return true;
+        }
+        // Expand translations in place so that the top of the stack is always the next result
+        while (this.size > 0 && this.stack[this.size - 1] instanceof IMixinChatComponentTranslation) {
+            IChatComponent translation = pop();
+            pushAll(((IMixinChatComponent) translation).childrenIterator());
+        }
+        return this.size > 0;
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public IChatComponent next() {
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
-        if (this.component != null) {
-            this.children = this.component.childrenIterator();
-
-            IChatComponent result = this.component;
-            this.component = null;
-            return result;
-        } else if (this.currentChildIterator == null || !this.currentChildIterator.hasNext()) {
-            this.currentChildIterator = ((IMixinChatComponent) this.children.next()).withChildren().iterator();
+        IChatComponent result;
+        if (this.root != null) {
+            result = this.root;
+            this.root = null;
+        } else {
+            result = pop();
         }
+        pushAll(((IMixinChatComponent) result).childrenIterator());
+        return result;
+    }
+
+    private IChatComponent pop() {
+        IChatComponent component = this.stack[--this.size];
+        this.stack[this.size] = null;
+        return component;
+    }
 
-        return this.currentChildIterator.next();
+    /**
+     * Pushes the given children so that the first of them ends up on top of
+     * the stack.
+     */
+    private void pushAll(Iterator<IChatComponent> children) {
+        int start = this.size;
+        while (children.hasNext()) {
+            if (this.size == this.stack.length) {
+                IChatComponent[] grown = new IChatComponent[this.size << 1];
+                System.arraycopy(this.stack, 0, grown, 0, this.size);
+                this.stack = grown;
+            }
+            this.stack[this.size++] = children.next();
+        }
+        for (int i = start, j = this.size - 1; i < j; i++, j--) {
+            IChatComponent swap = this.stack[i];
+            this.stack[i] = this.stack[j];
+            this.stack[j] = swap;
+        }
     }
 
 }
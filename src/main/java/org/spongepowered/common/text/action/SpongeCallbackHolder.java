@@ -27,13 +27,11 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.spongepowered.common.util.SpongeCommonTranslationHelper.t;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
+import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.util.Consumer;
 import org.spongepowered.api.util.command.CommandException;
@@ -46,48 +44,155 @@
 import org.spongepowered.api.util.command.spec.CommandExecutor;
 import org.spongepowered.api.util.command.spec.CommandSpec;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
+/**
+ * Hands out the ids behind {@link org.spongepowered.api.text.action.ClickAction.ExecuteCallback}
+ * and runs the callbacks when their command is clicked.
+ *
+ * <p>Registrations expire once they have not been used for ten minutes and
+ * the least recently used ones are dropped beyond a fixed cap. Expired
+ * registrations are removed every minute from the end of the server tick,
+ * so memory is reclaimed even while no new callbacks are created.</p>
+ */
 public class SpongeCallbackHolder {
     public static final String CALLBACK_COMMAND = "callback";
     public static final String CALLBACK_COMMAND_QUALIFIED = "/sponge:" + CALLBACK_COMMAND;
-    private static final SpongeCallbackHolder INSTANCE = new SpongeCallbackHolder();
-
-    private static final ConcurrentMap<UUID, Consumer<CommandSource>> reverseMap = new ConcurrentHashMap<UUID, Consumer<CommandSource>>();
-    private static final LoadingCache<Consumer<CommandSource>, UUID> callbackCache = CacheBuilder.newBuilder().expireAfterAccess(10, TimeUnit.MINUTES)
-            .removalListener(new RemovalListener<Consumer<CommandSource>, UUID>() {
-                @Override
-                public void onRemoval(RemovalNotification<Consumer<CommandSource>, UUID> notification) {
-                    reverseMap.remove(notification.getValue(), notification.getKey());
-                }
-            })
-            .build(new CacheLoader<Consumer<CommandSource>, UUID>() {
-                @Override
-                public UUID load(Consumer<CommandSource> key) throws Exception {
-                    UUID ret = UUID.randomUUID();
-                    reverseMap.putIfAbsent(ret, key);
-                    return ret;
-                }
-            });
+    private static final long EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final int MAXIMUM_CALLBACKS = 50000;
+    private static final int CLEANUP_INTERVAL = 20 * 60;
+    private static final SpongeCallbackHolder INSTANCE = new SpongeCallbackHolder(Ticker.systemTicker(), EXPIRY_NANOS, MAXIMUM_CALLBACKS);
 
+    private final Ticker ticker;
+    private final long expiryNanos;
+    private final int maximumSize;
+    // Both maps hold the same registrations, byId in least recently used order
+    private final LinkedHashMap<UUID, Registration> byId = new LinkedHashMap<UUID, Registration>(16, 0.75f, true);
+    private final Map<Consumer<CommandSource>, Registration> byCallback = new IdentityHashMap<Consumer<CommandSource>, Registration>();
+    private final Map<String, Integer> ownerCounts = new HashMap<String, Integer>();
+
+    @VisibleForTesting
+    SpongeCallbackHolder(Ticker ticker, long expiryNanos, int maximumSize) {
+        this.ticker = ticker;
+        this.expiryNanos = expiryNanos;
+        this.maximumSize = maximumSize;
+    }
 
     public static SpongeCallbackHolder getInstance() {
         return INSTANCE;
     }
 
+    public synchronized UUID getOrCreateIdForCallback(Consumer<CommandSource> callback) {
+        checkNotNull(callback, "callback");
+        final long now = this.ticker.read();
+        Registration registration = this.byCallback.get(callback);
+        if (registration == null) {
+            registration = new Registration(UUID.randomUUID(), callback, now);
+            this.byCallback.put(callback, registration);
+            this.byId.put(registration.id, registration);
+            changeOwnerCount(registration.owner, 1);
+            removeExpired(now);
+            for (Iterator<Registration> it = this.byId.values().iterator(); this.byId.size() > this.maximumSize;) {
+                Registration eldest = it.next();
+                it.remove();
+                forget(eldest);
+            }
+        } else {
+            registration.lastAccess = now;
+            this.byId.get(registration.id); // Moves the registration to the most recently used end
+        }
+        return registration.id;
+    }
+
+    public synchronized Optional<Consumer<CommandSource>> getCallbackForUUID(UUID id) {
+        final long now = this.ticker.read();
+        Registration registration = this.byId.get(id);
+        if (registration == null) {
+            return Optional.absent();
+        }
+        if (now - registration.lastAccess >= this.expiryNanos) {
+            // The lookup moved it away from the other expired registrations
+            this.byId.remove(id);
+            forget(registration);
+            return Optional.absent();
+        }
+        registration.lastAccess = now;
+        return Optional.<Consumer<CommandSource>>fromNullable(registration.callback);
+    }
+
+    /**
+     * Removes the expired registrations every minute.
+     *
+     * @param tick The current server tick
+     */
+    public void tick(int tick) {
+        if (tick % CLEANUP_INTERVAL == 0) {
+            cleanUp();
+        }
+    }
+
+    /**
+     * Removes every registration that has not been used within the expiry
+     * time.
+     */
+    public synchronized void cleanUp() {
+        removeExpired(this.ticker.read());
+    }
+
+    /**
+     * Gets the number of registered callbacks.
+     *
+     * @return The number of callbacks
+     */
+    public synchronized int size() {
+        return this.byId.size();
+    }
+
+    /**
+     * Gets the number of registered callbacks per owner, the top level class
+     * that declared the callback.
+     *
+     * @return The callbacks per owner class name
+     */
+    public synchronized Map<String, Integer> getOwnerCounts() {
+        return ImmutableMap.copyOf(this.ownerCounts);
+    }
+
+    private void removeExpired(long now) {
+        // Registrations are in access order, so the expired ones are all at the front
+        Iterator<Registration> it = this.byId.values().iterator();
+        while (it.hasNext()) {
+            Registration registration = it.next();
+            if (now - registration.lastAccess < this.expiryNanos) {
+                break;
+            }
+            it.remove();
+            forget(registration);
+        }
+    }
 
-    public UUID getOrCreateIdForCallback(Consumer<CommandSource> callback) {
-        return callbackCache.getUnchecked(checkNotNull(callback, "callback"));
+    private void forget(Registration registration) {
+        this.byCallback.remove(registration.callback);
+        changeOwnerCount(registration.owner, -1);
     }
 
-    public Optional<Consumer<CommandSource>> getCallbackForUUID(UUID id) {
-        return Optional.of(reverseMap.get(id));
+    private void changeOwnerCount(String owner, int delta) {
+        Integer count = this.ownerCounts.get(owner);
+        int updated = (count == null ? 0 : count) + delta;
+        if (updated == 0) {
+            this.ownerCounts.remove(owner);
+        } else {
+            this.ownerCounts.put(owner, updated);
+        }
     }
 
     public CommandSpec createCommand() {
@@ -115,12 +220,12 @@ protected Object parseValue(CommandSource source, CommandArgs args) throws Argum
             final String next = args.next();
             try {
                 UUID id = UUID.fromString(next);
-                Consumer<CommandSource> ret = reverseMap.get(id);
-                if (ret == null) {
+                Optional<Consumer<CommandSource>> ret = getCallbackForUUID(id);
+                if (!ret.isPresent()) {
                     throw args.createError(t("The callback you provided was not valid. Keep in mind that callbacks will expire after 10 minutes, so"
                             + " you might want to consider clicking faster next time!"));
                 }
-                return ret;
+                return ret.get();
             } catch (IllegalArgumentException ex) {
                 throw args.createError(t("Input %s was not a valid UUID", next));
             }
@@ -131,4 +236,21 @@ public List<String> complete(CommandSource src, CommandArgs args, CommandContext
             return ImmutableList.of();
         }
     }
+
+    private static final class Registration {
+
+        final UUID id;
+        final Consumer<CommandSource> callback;
+        final String owner;
+        long lastAccess;
+
+        Registration(UUID id, Consumer<CommandSource> callback, long lastAccess) {
+            this.id = id;
+            this.callback = callback;
+            this.lastAccess = lastAccess;
+            String name = callback.getClass().getName();
+            int nested = name.indexOf('$');
+            this.owner = nested < 0 ? name : name.substring(0, nested);
+        }
+    }
 }
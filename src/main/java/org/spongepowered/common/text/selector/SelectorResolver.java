@@ -61,6 +61,7 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.interfaces.IMixinEntity;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -199,8 +200,8 @@ private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>
 
                 @Override
                 public boolean apply(Entity input) {
-                    Vector3d pos = input.getLocation().getPosition();
-                    return pos.getX() >= boxMin.getX() && pos.getX() <= boxMax.getX();
+                    double pos = ((IMixinEntity) input).getX();
+                    return pos >= boxMin.getX() && pos <= boxMax.getX();
                 }
 
             });
@@ -210,8 +211,8 @@ public boolean apply(Entity input) {
 
                 @Override
                 public boolean apply(Entity input) {
-                    Vector3d pos = input.getLocation().getPosition();
-                    return pos.getY() >= boxMin.getY() && pos.getY() <= boxMax.getY();
+                    double pos = ((IMixinEntity) input).getY();
+                    return pos >= boxMin.getY() && pos <= boxMax.getY();
                 }
 
             });
@@ -221,8 +222,8 @@ public boolean apply(Entity input) {
 
                 @Override
                 public boolean apply(Entity input) {
-                    Vector3d pos = input.getLocation().getPosition();
-                    return pos.getZ() >= boxMin.getZ() && pos.getZ() <= boxMax.getZ();
+                    double pos = ((IMixinEntity) input).getZ();
+                    return pos >= boxMin.getZ() && pos <= boxMax.getZ();
                 }
 
             });
@@ -306,7 +307,7 @@ private void addRadiusFilters(final Vector3d position, List<Predicate<Entity>> f
 
                 @Override
                 public boolean apply(Entity input) {
-                    return input.getLocation().getPosition().distanceSquared(position) >= radMinSquared;
+                    return distanceSquared(input, position) >= radMinSquared;
                 }
 
             });
@@ -318,13 +319,21 @@ public boolean apply(Entity input) {
 
                 @Override
                 public boolean apply(Entity input) {
-                    return input.getLocation().getPosition().distanceSquared(position) <= radMaxSquared;
+                    return distanceSquared(input, position) <= radMaxSquared;
                 }
 
             });
         }
     }
 
+    private static double distanceSquared(Entity entity, Vector3d position) {
+        IMixinEntity mixinEntity = (IMixinEntity) entity;
+        double x = mixinEntity.getX() - position.getX();
+        double y = mixinEntity.getY() - position.getY();
+        double z = mixinEntity.getZ() - position.getZ();
+        return x * x + y * y + z * z;
+    }
+
     private void addRotationFilters(List<Predicate<Entity>> filters) {
         Selector sel = this.selector;
         // If the Z's are uncommented, don't forget to implement them
@@ -26,10 +26,15 @@
 
 import static org.spongepowered.common.util.SpongeCommonTranslationHelper.t;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.TextRepresentation;
 import org.spongepowered.api.text.Texts;
 import org.spongepowered.api.util.TextMessageException;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.launch.SpongeLaunch;
 import org.spongepowered.common.text.SpongeTexts;
 import org.xml.sax.InputSource;
 import org.xml.sax.XMLReader;
@@ -40,9 +45,11 @@
 import java.io.StringWriter;
 import java.util.Locale;
 
+import javax.annotation.Nullable;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.UnmarshallerHandler;
 
 /**
@@ -62,6 +69,18 @@ public class TextXmlRepresentation implements TextRepresentation {
         }
     }
 
+    // Creating these is expensive, the reader is looked up through the service loader every time
+    private static final ThreadLocal<Parser> PARSERS = new ThreadLocal<Parser>() {
+
+        @Override
+        protected Parser initialValue() {
+            return createParser();
+        }
+    };
+
+    static final int DEFAULT_PARSE_CACHE_SIZE = 256;
+    @Nullable private static volatile ParseCache parseCache;
+
     private TextXmlRepresentation() {}
 
     @Override
@@ -72,12 +91,14 @@ public String to(Text text) {
     @Override
     public String to(Text text, Locale locale) {
         final StringWriter writer = new StringWriter();
+        final Element element = Element.fromText(text, locale);
+        final Parser parser = acquireParser();
         try {
-            Marshaller marshaller = CONTEXT.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
-            marshaller.marshal(Element.fromText(text, locale), writer);
+            parser.marshaller.marshal(element, writer);
         } catch (JAXBException e) {
             return Texts.toPlain(text, locale);
+        } finally {
+            parser.release();
         }
         return writer.getBuffer().toString();
     }
@@ -87,20 +108,63 @@ public String to(Text text, Locale locale) {
      * Also courtesy of http://jazzjuice.blogspot.de/2009/06/jaxb-xmlmixed-and-white-space-anomalies.html
      */
     @SuppressWarnings("unchecked")
-    private static <T> T unmarshal(JAXBContext ctx, String strData, boolean flgWhitespaceAware) throws Exception {
-        UnmarshallerHandler uh = ctx.createUnmarshaller().getUnmarshallerHandler();
-        XMLReader xr = XMLReaderFactory.createXMLReader();
-        xr.setContentHandler(flgWhitespaceAware ? new WhitespaceAwareUnmarshallerHandler(uh) : uh);
-        xr.setErrorHandler(new DefaultHandler());
-        xr.parse(new InputSource(new StringReader(strData)));
-        return (T) uh.getResult();
+    private static <T> T unmarshal(String strData, boolean flgWhitespaceAware) throws Exception {
+        Parser parser = acquireParser();
+        try {
+            UnmarshallerHandler uh = parser.unmarshaller.getUnmarshallerHandler();
+            XMLReader xr = parser.reader;
+            xr.setContentHandler(flgWhitespaceAware ? new WhitespaceAwareUnmarshallerHandler(uh) : uh);
+            xr.setErrorHandler(new DefaultHandler());
+            xr.parse(new InputSource(new StringReader(strData)));
+            return (T) uh.getResult();
+        } finally {
+            parser.release();
+        }
+    }
+
+    /**
+     * Gets the parser of the current thread, or a new one if it is already
+     * in use further up the stack. Converting hover texts parses and
+     * marshals them while the outer message is still being processed.
+     *
+     * @return The parser, to be released after use
+     */
+    static Parser acquireParser() {
+        final Parser parser = PARSERS.get();
+        if (parser.inUse) {
+            return createParser();
+        }
+        parser.inUse = true;
+        return parser;
+    }
+
+    private static Parser createParser() {
+        try {
+            Marshaller marshaller = CONTEXT.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            return new Parser(marshaller, CONTEXT.createUnmarshaller(), XMLReaderFactory.createXMLReader());
+        } catch (Exception e) {
+            throw new IllegalStateException("Error creating TextXML parser", e);
+        }
     }
 
     @Override
     public Text from(String input) throws TextMessageException {
+        final Cache<String, Text> cache = getParseCache();
+        Text text = cache != null ? cache.getIfPresent(input) : null;
+        if (text == null) {
+            text = parse(input);
+            if (cache != null) {
+                cache.put(input, text);
+            }
+        }
+        return text;
+    }
+
+    static Text parse(String input) throws TextMessageException {
         try {
             input = "<span>" + input + "</span>";
-            final Element element = unmarshal(CONTEXT, input, true);
+            final Element element = unmarshal(input, true);
             return element.toText().build();
         } catch (Exception e) {
             throw new TextMessageException(t("Error parsing TextXML message '%s'", input), e);
@@ -115,4 +179,72 @@ public Text fromUnchecked(String input) {
             return Texts.of(input);
         }
     }
+
+    @Nullable
+    private static Cache<String, Text> getParseCache() {
+        final int version = SpongeConfig.getVersion();
+        ParseCache cache = parseCache;
+        if (cache == null || cache.configVersion != version) {
+            parseCache = cache = ParseCache.update(cache, version, getParseCacheSize());
+        }
+        return cache.cache;
+    }
+
+    private static int getParseCacheSize() {
+        // Messages can be parsed before the game is launched, the size is read again once the config is loaded
+        if (!SpongeLaunch.isInitialized()) {
+            return DEFAULT_PARSE_CACHE_SIZE;
+        }
+        final SpongeConfig.GlobalConfig config = Sponge.getGlobalConfig().getConfig();
+        return config != null ? config.getGeneral().getTextXmlParseCacheSize() : DEFAULT_PARSE_CACHE_SIZE;
+    }
+
+    static final class ParseCache {
+
+        final int configVersion;
+        final int size;
+        @Nullable final Cache<String, Text> cache;
+
+        private ParseCache(int configVersion, int size, @Nullable Cache<String, Text> cache) {
+            this.configVersion = configVersion;
+            this.size = size;
+            this.cache = cache;
+        }
+
+        /**
+         * Gets the cache for the given config version. The cached messages
+         * are kept unless the size was changed.
+         *
+         * @param previous The cache of the previous config version, if any
+         * @param configVersion The current config version
+         * @param size The configured size, 0 to disable the cache
+         * @return The cache
+         */
+        static ParseCache update(@Nullable ParseCache previous, int configVersion, int size) {
+            if (previous != null && previous.size == size) {
+                return new ParseCache(configVersion, size, previous.cache);
+            }
+            return new ParseCache(configVersion, size, size > 0 ? CacheBuilder.newBuilder().maximumSize(size).<String, Text>build() : null);
+        }
+
+    }
+
+    static final class Parser {
+
+        final Marshaller marshaller;
+        final Unmarshaller unmarshaller;
+        final XMLReader reader;
+        boolean inUse;
+
+        Parser(Marshaller marshaller, Unmarshaller unmarshaller, XMLReader reader) {
+            this.marshaller = marshaller;
+            this.unmarshaller = unmarshaller;
+            this.reader = reader;
+        }
+
+        void release() {
+            this.inUse = false;
+        }
+
+    }
 }
@@ -0,0 +1,253 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.timings;
+
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+import org.spongepowered.api.plugin.PluginContainer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Times the main phases of a server tick, per class and plugin.
+ *
+ * <p>Timed code checks {@link #isTiming()} first, so while timings are off
+ * the only cost is that check. In sampled mode only every n-th tick is
+ * timed.</p>
+ */
+public final class SpongeTimings {
+
+    public enum Mode {
+        OFF,
+        ALWAYS,
+        SAMPLED
+    }
+
+    private static final Comparator<TimingEntry> BY_TOTAL_TIME = new Comparator<TimingEntry>() {
+
+        @Override
+        public int compare(TimingEntry o1, TimingEntry o2) {
+            return Longs.compare(o2.getTotalNanos(), o1.getTotalNanos());
+        }
+    };
+
+    private static final EnumMap<TimingPhase, ConcurrentMap<Class<?>, TimingEntry>> entries = Maps.newEnumMap(TimingPhase.class);
+
+    static {
+        for (TimingPhase phase : TimingPhase.values()) {
+            entries.put(phase, new ConcurrentHashMap<Class<?>, TimingEntry>());
+        }
+    }
+
+    private static volatile Mode mode = Mode.OFF;
+    private static volatile int sampleInterval = 1;
+    private static volatile boolean timing;
+    private static int tickCounter;
+    private static long tickStart;
+    private static long timedTicks;
+    private static long timedTickNanos;
+    private static long startedAt = System.currentTimeMillis();
+
+    private SpongeTimings() {
+    }
+
+    /**
+     * Gets whether the current tick is being timed.
+     *
+     * @return True if timing
+     */
+    public static boolean isTiming() {
+        return timing;
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    public static int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Sets how timings are collected, taking effect from the next tick.
+     *
+     * @param newMode The mode
+     * @param interval The number of ticks between timed ticks, only used when
+     *     sampling
+     */
+    public static void setMode(Mode newMode, int interval) {
+        sampleInterval = Math.max(1, interval);
+        mode = newMode;
+        if (newMode == Mode.OFF) {
+            timing = false;
+        }
+    }
+
+    public static void tickStarted() {
+        final Mode current = mode;
+        timing = current == Mode.ALWAYS || current == Mode.SAMPLED && tickCounter++ % sampleInterval == 0;
+        if (timing) {
+            tickStart = System.nanoTime();
+        }
+    }
+
+    public static void tickEnded() {
+        if (timing) {
+            timedTicks++;
+            timedTickNanos += System.nanoTime() - tickStart;
+        }
+    }
+
+    /**
+     * Records the time spent since the given start time.
+     *
+     * @param phase The phase of the tick
+     * @param type The class the time is attributed to
+     * @param owner The plugin the class belongs to, or null for game code
+     * @param startNanos The {@link System#nanoTime()} when the timed code
+     *     started
+     */
+    public static void record(TimingPhase phase, Class<?> type, @Nullable PluginContainer owner, long startNanos) {
+        final long nanos = System.nanoTime() - startNanos;
+        final ConcurrentMap<Class<?>, TimingEntry> phaseEntries = entries.get(phase);
+        TimingEntry entry = phaseEntries.get(type);
+        if (entry == null) {
+            final TimingEntry newEntry = new TimingEntry(phase, type, owner);
+            entry = phaseEntries.putIfAbsent(type, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        entry.record(nanos);
+    }
+
+    public static void reset() {
+        for (ConcurrentMap<Class<?>, TimingEntry> phaseEntries : entries.values()) {
+            phaseEntries.clear();
+        }
+        timedTicks = 0;
+        timedTickNanos = 0;
+        startedAt = System.currentTimeMillis();
+    }
+
+    public static long getTimedTicks() {
+        return timedTicks;
+    }
+
+    public static long getTimedTickNanos() {
+        return timedTickNanos;
+    }
+
+    /**
+     * Gets all entries, most expensive first.
+     *
+     * @return The entries
+     */
+    public static List<TimingEntry> getEntries() {
+        final List<TimingEntry> list = new ArrayList<TimingEntry>();
+        for (ConcurrentMap<Class<?>, TimingEntry> phaseEntries : entries.values()) {
+            list.addAll(phaseEntries.values());
+        }
+        Collections.sort(list, BY_TOTAL_TIME);
+        return list;
+    }
+
+    /**
+     * Gets the total time in nanoseconds per plugin, most expensive first.
+     * Game code is listed as minecraft.
+     *
+     * @return The time per plugin id
+     */
+    public static List<Map.Entry<String, Long>> getTotalsByOwner() {
+        final Map<String, Long> totals = Maps.newHashMap();
+        for (TimingEntry entry : getEntries()) {
+            final Long total = totals.get(entry.getOwnerId());
+            totals.put(entry.getOwnerId(), (total == null ? 0 : total) + entry.getTotalNanos());
+        }
+        final List<Map.Entry<String, Long>> list = new ArrayList<Map.Entry<String, Long>>(totals.entrySet());
+        Collections.sort(list, new Comparator<Map.Entry<String, Long>>() {
+
+            @Override
+            public int compare(Map.Entry<String, Long> o1, Map.Entry<String, Long> o2) {
+                return o2.getValue().compareTo(o1.getValue());
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Writes every entry, grouped by plugin and by phase, to the file.
+     *
+     * @param file The file to write to
+     * @throws IOException If the file could not be written
+     */
+    public static void writeReport(File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        final PrintWriter writer = new PrintWriter(new FileWriter(file));
+        try {
+            final long ticks = getTimedTicks();
+            writer.printf("Mode: %s, sample interval: %d%n", mode, sampleInterval);
+            writer.printf("Collecting for: %d s%n", (System.currentTimeMillis() - startedAt) / 1000);
+            writer.printf("Timed ticks: %d, average tick: %.3f ms%n", ticks, ticks == 0 ? 0 : timedTickNanos / 1e6 / ticks);
+            writer.println();
+
+            writer.println("== Plugins ==");
+            for (Map.Entry<String, Long> total : getTotalsByOwner()) {
+                writer.printf("%12.3f ms %12.3f ms/tick  %s%n", total.getValue() / 1e6, ticks == 0 ? 0 : total.getValue() / 1e6 / ticks,
+                        total.getKey());
+            }
+
+            final List<TimingEntry> all = getEntries();
+            for (TimingPhase phase : TimingPhase.values()) {
+                writer.println();
+                writer.println("== " + phase.getName() + " ==");
+                for (TimingEntry entry : all) {
+                    if (entry.getPhase() == phase) {
+                        writer.printf("%12.3f ms %10d calls %10.1f us avg %10.1f us max  %s (%s)%n", entry.getTotalNanos() / 1e6, entry.getCount(),
+                                entry.getTotalNanos() / 1e3 / entry.getCount(), entry.getMaxNanos() / 1e3, entry.getType().getName(),
+                                entry.getOwnerId());
+                    }
+                }
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -39,30 +39,44 @@
 
 public class IpSet implements Predicate<InetAddress> {
     private final InetAddress addr;
+    // InetAddress.getAddress() returns a fresh copy on every call
+    private final byte[] addrBytes;
     private final int prefixLen;
 
     private IpSet(InetAddress addr, int prefixLen) {
         this.addr = addr;
+        this.addrBytes = addr.getAddress();
         this.prefixLen = prefixLen;
     }
 
     @Override
     public boolean apply(InetAddress input) {
-        byte[] address = input.getAddress();
-        byte[] checkAddr = this.addr.getAddress();
+        return contains(input.getAddress());
+    }
+
+    /**
+     * Tests whether a raw address, as returned by
+     * {@link InetAddress#getAddress()}, is within this set.
+     *
+     * @param address The address bytes
+     * @return Whether the address is within this set
+     */
+    public boolean contains(byte[] address) {
+        byte[] checkAddr = this.addrBytes;
         if (address.length != checkAddr.length) {
             return false;
         }
 
-        byte completeSegments = (byte) (this.prefixLen >> 3);
-        byte overlap = (byte) (this.prefixLen & 7);
-        for (byte i = 0; i < completeSegments; ++i) {
+        int completeSegments = this.prefixLen >> 3;
+        int overlap = this.prefixLen & 7;
+        for (int i = 0; i < completeSegments; ++i) {
             if (address[i] != checkAddr[i]) {
                 return false;
             }
         }
-        for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+        if (overlap != 0) {
+            int mask = (0xFF00 >> overlap) & 0xFF;
+            if (((checkAddr[completeSegments] ^ address[completeSegments]) & mask) != 0) {
                 return false;
             }
         }
@@ -70,27 +84,30 @@ public boolean apply(InetAddress input) {
         return true;
     }
 
+    byte[] getAddressBytes() {
+        return this.addrBytes;
+    }
+
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
     }
 
     /**
+     * Parses a set from CIDR notation, such as {@code 10.42.0.0/16}. A bare
+     * address is a set of just that address.
      *
-     * @param spec
-     * @return
+     * @param spec The CIDR specification
+     * @return The parsed set
+     * @throws IllegalArgumentException If the specification is not valid
      */
     public static IpSet fromCidr(String spec) {
-        String addrString;
-        int prefixLen;
         int slashIndex = checkNotNull(spec, "spec").lastIndexOf("/");
-        if (slashIndex == -1) {
-            prefixLen = 32;
-            addrString = spec;
-        } else {
-            prefixLen = Integer.parseInt(spec.substring(slashIndex + 1));
-            addrString = spec.substring(0, slashIndex);
-        }
+        String addrString = slashIndex == -1 ? spec : spec.substring(0, slashIndex);
 
         InetAddress addr;
         try {
@@ -99,6 +116,7 @@ public static IpSet fromCidr(String spec) {
             throw new IllegalArgumentException(addrString + " does not contain a valid IP address");
         }
 
+        int prefixLen = slashIndex == -1 ? getMaxPrefixLength(addr) : Integer.parseInt(spec.substring(slashIndex + 1));
         return fromAddrPrefix(addr, prefixLen);
     }
 
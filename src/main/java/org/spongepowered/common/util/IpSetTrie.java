@@ -0,0 +1,177 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+
+/**
+ * A union of many {@link IpSet}s compiled into a binary trie over the
+ * address bits, one trie for IPv4 and one for IPv6.
+ *
+ * <p>A lookup walks at most one node per prefix bit, regardless of how many
+ * sets were compiled in, and does not allocate. {@link #apply(InetAddress)}
+ * of an IPv6 address has to copy the address bytes once, use
+ * {@link #contains(byte[])} when they are already at hand.</p>
+ */
+public final class IpSetTrie implements Predicate<InetAddress> {
+
+    private static final IpSetTrie EMPTY = new IpSetTrie(ImmutableList.<IpSet>of());
+
+    private final ImmutableList<IpSet> sets;
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+
+    private IpSetTrie(ImmutableList<IpSet> sets) {
+        this.sets = sets;
+        for (IpSet set : sets) {
+            insert(set);
+        }
+    }
+
+    /**
+     * Compiles the given sets into a trie matching any address within at
+     * least one of them.
+     *
+     * @param sets The sets to compile
+     * @return The compiled trie
+     */
+    public static IpSetTrie of(Iterable<IpSet> sets) {
+        ImmutableList<IpSet> copy = ImmutableList.copyOf(checkNotNull(sets, "sets"));
+        return copy.isEmpty() ? EMPTY : new IpSetTrie(copy);
+    }
+
+    private void insert(IpSet set) {
+        byte[] address = set.getAddressBytes();
+        Node node = address.length == 4 ? this.ipv4Root : this.ipv6Root;
+        for (int bit = 0; bit < set.getPrefixLength(); bit++) {
+            if (node.terminal) {
+                return; // Already covered by a shorter prefix
+            }
+            if (bit(address, bit) == 0) {
+                if (node.zero == null) {
+                    node.zero = new Node();
+                }
+                node = node.zero;
+            } else {
+                if (node.one == null) {
+                    node.one = new Node();
+                }
+                node = node.one;
+            }
+        }
+        // Everything below is covered by this prefix now
+        node.terminal = true;
+        node.zero = null;
+        node.one = null;
+    }
+
+    @Override
+    public boolean apply(InetAddress input) {
+        if (input instanceof Inet4Address) {
+            // The hash code of an IPv4 address is the address itself, this avoids the copy made by getAddress()
+            return containsIpv4(input.hashCode());
+        }
+        return contains(input.getAddress());
+    }
+
+    /**
+     * Tests whether an IPv4 address, packed into an int with the first
+     * octet in the highest bits, is within any of the sets.
+     *
+     * @param address The packed IPv4 address
+     * @return Whether the address matches
+     */
+    public boolean containsIpv4(int address) {
+        Node node = this.ipv4Root;
+        for (int bit = 0; bit < 32; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = ((address >>> (31 - bit)) & 1) == 0 ? node.zero : node.one;
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    /**
+     * Tests whether a raw address, as returned by
+     * {@link InetAddress#getAddress()}, is within any of the sets.
+     *
+     * @param address The address bytes
+     * @return Whether the address matches
+     */
+    public boolean contains(byte[] address) {
+        Node node;
+        if (address.length == 4) {
+            node = this.ipv4Root;
+        } else if (address.length == 16) {
+            node = this.ipv6Root;
+        } else {
+            return false;
+        }
+        final int bits = address.length << 3;
+        for (int bit = 0; bit < bits; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = bit(address, bit) == 0 ? node.zero : node.one;
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private static int bit(byte[] address, int bit) {
+        return (address[bit >> 3] >> (7 - (bit & 7))) & 1;
+    }
+
+    public ImmutableList<IpSet> getSets() {
+        return this.sets;
+    }
+
+    @Override
+    public String toString() {
+        return "IpSetTrie[" + Joiner.on(", ").join(this.sets) + "]";
+    }
+
+    private static final class Node {
+
+        Node zero;
+        Node one;
+        boolean terminal;
+
+    }
+
+}
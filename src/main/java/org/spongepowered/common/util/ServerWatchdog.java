@@ -0,0 +1,296 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import net.minecraft.server.MinecraftServer;
+import org.spongepowered.common.Sponge;
+import org.spongepowered.common.command.ChunkSaveHelper;
+import org.spongepowered.common.configuration.SpongeConfig;
+
+import java.io.File;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Watches the server thread for ticks that take too long. A stalled tick
+ * first produces a warning, and once it passes the deadlock timeout or the
+ * server thread is found in or waiting on a lock cycle, a deadlock report.
+ * Lock cycles are only looked for at the two timeouts.
+ *
+ * <p>Each stalled tick is reported at most once per stage.</p>
+ */
+public class ServerWatchdog extends Thread {
+
+    private static final long NOT_TICKING = Long.MIN_VALUE;
+
+    private final Thread serverThread;
+    private final long warnTimeout;
+    private final long deadlockTimeout;
+    private final long checkInterval;
+
+    private volatile long tickStart = NOT_TICKING;
+    private volatile boolean running = true;
+    private long warnedTickStart = NOT_TICKING;
+    private long deadlockedTickStart = NOT_TICKING;
+
+    /**
+     * Creates a new watchdog for the given thread.
+     *
+     * @param serverThread The thread running the server ticks
+     * @param warnTimeout The milliseconds a tick may take before warning, 0
+     *     to never warn
+     * @param deadlockTimeout The milliseconds a tick may take before it is
+     *     treated as a deadlock, 0 to only detect lock cycles
+     */
+    public ServerWatchdog(Thread serverThread, long warnTimeout, long deadlockTimeout) {
+        super("Sponge Watchdog");
+        setDaemon(true);
+        this.serverThread = serverThread;
+        this.warnTimeout = warnTimeout;
+        this.deadlockTimeout = deadlockTimeout;
+        final long shortest = warnTimeout <= 0 ? deadlockTimeout : deadlockTimeout <= 0 ? warnTimeout : Math.min(warnTimeout, deadlockTimeout);
+        this.checkInterval = Math.max(10, Math.min(1000, shortest / 4));
+    }
+
+    public void tickStarted() {
+        this.tickStart = now();
+    }
+
+    public void tickEnded() {
+        this.tickStart = NOT_TICKING;
+    }
+
+    public void shutdown() {
+        this.running = false;
+        interrupt();
+    }
+
+    @Override
+    public void run() {
+        while (this.running) {
+            try {
+                check(now());
+                Thread.sleep(this.checkInterval);
+            } catch (InterruptedException e) {
+                // Shutting down, or woken early
+            } catch (Throwable t) {
+                Sponge.getLogger().error("Error in the server watchdog", t);
+            }
+        }
+    }
+
+    void check(long now) {
+        final long start = this.tickStart;
+        if (start == NOT_TICKING || start == this.deadlockedTickStart) {
+            return;
+        }
+        final long stalled = now - start;
+        // Threads are only inspected once at each timeout, looking for lock cycles is expensive
+        final boolean warn = this.warnTimeout > 0 && stalled >= this.warnTimeout && start != this.warnedTickStart;
+        final boolean timedOut = this.deadlockTimeout > 0 && stalled >= this.deadlockTimeout;
+        if (!warn && !timedOut) {
+            return;
+        }
+
+        final ThreadInfo serverInfo = getThreadInfo(this.serverThread.getId());
+        if (serverInfo == null) {
+            // The server thread has already died
+            return;
+        }
+        final ThreadInfo[] deadlocked = findDeadlockedThreads(serverInfo);
+        this.warnedTickStart = start;
+        if (deadlocked.length > 0 || timedOut) {
+            this.deadlockedTickStart = start;
+            onDeadlock(serverInfo, deadlocked, stalled);
+        } else {
+            onStallWarning(serverInfo, stalled);
+        }
+    }
+
+    /**
+     * Called once when a tick has been running for longer than the warn
+     * timeout.
+     *
+     * @param serverThread The state of the server thread
+     * @param stalled The milliseconds the tick has been running for
+     */
+    protected void onStallWarning(ThreadInfo serverThread, long stalled) {
+        Sponge.getLogger().warn("The server has not finished a tick for " + stalled + " ms");
+        if (Sponge.getGlobalConfig().getConfig().getDebug().dumpThreadsOnWarn()) {
+            Sponge.getLogger().warn(formatThreadInfo(serverThread));
+        }
+    }
+
+    /**
+     * Called once when a tick has been running for longer than the deadlock
+     * timeout, or the server thread is part of a lock cycle.
+     *
+     * @param serverThread The state of the server thread
+     * @param deadlocked The threads found in a lock cycle, may be empty
+     * @param stalled The milliseconds the tick has been running for
+     */
+    protected void onDeadlock(ThreadInfo serverThread, ThreadInfo[] deadlocked, long stalled) {
+        Sponge.getLogger().error("The server has not finished a tick for " + stalled + " ms and appears to be deadlocked");
+        Sponge.getLogger().error(formatThreadInfo(serverThread));
+        for (ThreadInfo info : deadlocked) {
+            if (info != null && info.getThreadId() != serverThread.getThreadId()) {
+                Sponge.getLogger().error(formatThreadInfo(info));
+            }
+        }
+
+        final SpongeConfig.DebugCategory debug = Sponge.getGlobalConfig().getConfig().getDebug();
+        final String date = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+        if (debug.dumpChunksOnDeadlock()) {
+            final File file = new File(new File(new File("."), "chunk-dumps"), "deadlock-chunk-info-" + date + "-server.txt");
+            if (deadlocked.length > 0) {
+                Sponge.getLogger().error("Writing chunk info to: " + file);
+                try {
+                    // The server thread is blocked in the lock cycle, so the worlds can be read from here
+                    ChunkSaveHelper.writeChunks(file, true).get();
+                } catch (Exception e) {
+                    Sponge.getLogger().error("Could not write chunk info to: " + file, e);
+                }
+            } else {
+                // The server thread may just be slow and still changing the worlds, so snapshot them on it once it catches up
+                Sponge.getLogger().error("Writing chunk info to " + file + " once the server thread resumes");
+                MinecraftServer.getServer().addScheduledTask(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        ChunkSaveHelper.writeChunks(file, true);
+                    }
+                });
+            }
+        }
+        if (debug.dumpHeapOnDeadlock()) {
+            final File file = new File(new File(new File("."), "dumps"), "deadlock-heap-dump-" + date + "-server.bin");
+            Sponge.getLogger().error("Writing JVM heap data to: " + file);
+            SpongeHooks.dumpHeap(file, true);
+        }
+    }
+
+    /**
+     * Formats the full stack of a thread, with the lock it is waiting on, the
+     * owner of that lock and the locks it holds.
+     *
+     * @param info The thread info
+     * @return The formatted thread info
+     */
+    public static String formatThreadInfo(ThreadInfo info) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append('"').append(info.getThreadName()).append("\" Id=").append(info.getThreadId()).append(' ').append(info.getThreadState());
+        if (info.getLockName() != null) {
+            builder.append(" on ").append(info.getLockName());
+        }
+        if (info.getLockOwnerName() != null) {
+            builder.append(" owned by \"").append(info.getLockOwnerName()).append("\" Id=").append(info.getLockOwnerId());
+        }
+        if (info.getBlockedTime() >= 0) {
+            // Only available with thread contention monitoring
+            builder.append(" blocked ").append(info.getBlockedTime()).append(" ms");
+        }
+        builder.append('\n');
+
+        final StackTraceElement[] stack = info.getStackTrace();
+        final MonitorInfo[] monitors = info.getLockedMonitors();
+        for (int i = 0; i < stack.length; i++) {
+            builder.append("\tat ").append(stack[i]).append('\n');
+            for (MonitorInfo monitor : monitors) {
+                if (monitor.getLockedStackDepth() == i) {
+                    builder.append("\t- locked ").append(monitor).append('\n');
+                }
+            }
+        }
+        for (LockInfo lock : info.getLockedSynchronizers()) {
+            builder.append("\t- holds ").append(lock).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static long now() {
+        return System.nanoTime() / 1000000L;
+    }
+
+    private static ThreadInfo getThreadInfo(long id) {
+        return getThreadInfo(new long[] {id})[0];
+    }
+
+    private static ThreadInfo[] getThreadInfo(long[] ids) {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean.getThreadInfo(ids, bean.isObjectMonitorUsageSupported(), bean.isSynchronizerUsageSupported());
+    }
+
+    /**
+     * Finds the lock cycle the server thread is in, or waits on through a
+     * chain of lock owners.
+     *
+     * @param serverInfo The state of the server thread
+     * @return The threads in the chain after the server thread and in the
+     *     cycle, or an empty array if there is none
+     */
+    private static ThreadInfo[] findDeadlockedThreads(ThreadInfo serverInfo) {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        final long[] ids = bean.isSynchronizerUsageSupported() ? bean.findDeadlockedThreads() : bean.findMonitorDeadlockedThreads();
+        if (ids == null) {
+            return new ThreadInfo[0];
+        }
+        final Set<Long> cycle = new HashSet<Long>();
+        for (long id : ids) {
+            cycle.add(id);
+        }
+        final List<ThreadInfo> chain = new ArrayList<ThreadInfo>();
+        final Set<Long> visited = new HashSet<Long>();
+        ThreadInfo info = serverInfo;
+        while (!cycle.contains(info.getThreadId())) {
+            final long owner = info.getLockOwnerId();
+            // Not waiting on a lock, or the locks changed hands since the cycles were found
+            if (owner == -1 || !visited.add(info.getThreadId())) {
+                return new ThreadInfo[0];
+            }
+            info = getThreadInfo(owner);
+            if (info == null) {
+                // The owner has released the lock and died since
+                return new ThreadInfo[0];
+            }
+            chain.add(info);
+        }
+        // The last thread of the chain is in the cycle
+        if (!chain.isEmpty()) {
+            chain.remove(chain.size() - 1);
+        }
+        chain.addAll(Arrays.asList(getThreadInfo(ids)));
+        return chain.toArray(new ThreadInfo[chain.size()]);
+    }
+}
@@ -41,8 +41,11 @@
 import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.common.Sponge;
+import org.spongepowered.common.configuration.ActiveConfigSnapshot;
 import org.spongepowered.common.configuration.SpongeConfig;
 import org.spongepowered.common.configuration.SpongeConfig.WorldConfig;
+import org.spongepowered.common.entity.SpongeEntityCategory;
+import org.spongepowered.common.interfaces.IMixinChunk;
 import org.spongepowered.common.interfaces.IMixinWorld;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
 
@@ -81,9 +84,17 @@ public static void logStack(SpongeConfig<?> config) {
         }
     }
 
+    public static void logStack(ActiveConfigSnapshot config) {
+        if (config.logWithStackTraces()) {
+            Throwable ex = new Throwable();
+            ex.fillInStackTrace();
+            ex.printStackTrace();
+        }
+    }
+
     public static void logEntityDeath(Entity entity) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDeathLogging()) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(entity.worldObj);
+        if (config.entityDeathLogging()) {
             logInfo("[" + config.getConfigName() + "] [" + config.getConfigName() + "] Dim: {0} setDead(): {1}",
                     entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
@@ -91,24 +102,24 @@ public static void logEntityDeath(Entity entity) {
     }
 
     public static void logEntityDespawn(Entity entity, String reason) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entityDespawnLogging()) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(entity.worldObj);
+        if (config.entityDespawnLogging()) {
             logInfo("[" + config.getConfigName() + "] Dim: {0} Despawning ({1}): {2}", entity.worldObj.provider.getDimensionId(), reason, entity);
             logStack(config);
         }
     }
 
     public static void logEntitySpawn(Entity entity) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (config.getConfig().getLogging().entitySpawnLogging()) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(entity.worldObj);
+        if (config.entitySpawnLogging()) {
             logInfo("[" + config.getConfigName() + "] Dim: {0} Spawning: {1}", entity.worldObj.provider.getDimensionId(), entity);
             logStack(config);
         }
     }
 
     public static void logChunkLoad(World world, Vector3i chunkPos) {
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkLoadLogging()) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(world);
+        if (config.chunkLoadLogging()) {
             logInfo("[" + config.getConfigName() + "] Load Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -116,8 +127,8 @@ public static void logChunkLoad(World world, Vector3i chunkPos) {
     }
 
     public static void logChunkUnload(World world, Vector3i chunkPos) {
-        SpongeConfig<?> config = getActiveConfig(world);
-        if (config.getConfig().getLogging().chunkUnloadLogging()) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(world);
+        if (config.chunkUnloadLogging()) {
             logInfo("[" + config.getConfigName() + "] Unload Chunk At [{0}] ({1}, {2})", world.provider.getDimensionId(), chunkPos.getX(),
                     chunkPos.getZ());
             logStack(config);
@@ -126,21 +137,17 @@ public static void logChunkUnload(World world, Vector3i chunkPos) {
 
     @SuppressWarnings("unused")
     private static void logChunkLoadOverride(ChunkProviderServer provider, int x, int z) {
-        SpongeConfig<?> config = getActiveConfig(provider.worldObj);
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(provider.worldObj);
         logInfo("[" + config.getConfigName() + "]  Chunk Load Override: {0}, Dimension ID: {1}", provider.chunkLoadOverride,
                 provider.worldObj.provider.getDimensionId());
     }
 
     public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (!(entity instanceof EntityLivingBase) || entity instanceof EntityPlayer) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(entity.worldObj);
+        int maxBoundingBoxSize = config.getMaxBoundingBoxSize();
+        if (maxBoundingBoxSize <= 0 || !(entity instanceof EntityLivingBase) || entity instanceof EntityPlayer) {
             return false; // only check living entities that are not players
         }
-
-        int maxBoundingBoxSize = config.getConfig().getEntity().getMaxBoundingBoxSize();
-        if (maxBoundingBoxSize <= 0) {
-            return false;
-        }
         int x = MathHelper.floor_double(aabb.minX);
         int x1 = MathHelper.floor_double(aabb.maxX + 1.0D);
         int y = MathHelper.floor_double(aabb.minY);
@@ -149,71 +156,116 @@ public static boolean checkBoundingBoxSize(Entity entity, AxisAlignedBB aabb) {
         int z1 = MathHelper.floor_double(aabb.maxZ + 1.0D);
 
         int size = Math.abs(x1 - x) * Math.abs(y1 - y) * Math.abs(z1 - z);
-        if (size > maxBoundingBoxSize) {
-            logWarning("Entity being removed for bounding box restrictions");
-            logWarning("BB Size: {0} > {1} avg edge: {2}", size, maxBoundingBoxSize, aabb.getAverageEdgeLength());
-            logWarning("Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
-            logWarning("Calculated bounding box: {0}", aabb);
-            logWarning("Entity bounding box: {0}", entity.getBoundingBox());
-            logWarning("Entity: {0}", entity);
-            NBTTagCompound tag = new NBTTagCompound();
-            entity.writeToNBT(tag);
-            logWarning("Entity NBT: {0}", tag);
+        if (size <= maxBoundingBoxSize) {
+            return false;
+        }
+        removeOversizedEntity(entity, aabb, size, config);
+        return true;
+    }
+
+    // Kept out of checkBoundingBoxSize so the check itself stays small enough to inline
+    private static void removeOversizedEntity(Entity entity, AxisAlignedBB aabb, int size, ActiveConfigSnapshot config) {
+        logWarning("Entity being removed for bounding box restrictions");
+        logWarning("BB Size: {0} > {1} avg edge: {2}", size, config.getMaxBoundingBoxSize(), aabb.getAverageEdgeLength());
+        logWarning("Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
+        logWarning("Calculated bounding box: {0}", aabb);
+        logWarning("Entity bounding box: {0}", entity.getBoundingBox());
+        logWarning("Entity: {0}", entity);
+        NBTTagCompound tag = new NBTTagCompound();
+        entity.writeToNBT(tag);
+        logWarning("Entity NBT: {0}", tag);
+        logStack(config);
+        entity.setDead();
+    }
+
+    /**
+     * Checks whether the chunk an entity is about to spawn in already holds
+     * as many entities of its category as the configured cap allows.
+     *
+     * <p>Only natural and spawner spawns and the drops of dying mobs are
+     * checked. Other spawns, such as items dropped by players or entities
+     * moved between worlds, are never denied.</p>
+     *
+     * @param entity The entity about to spawn
+     * @return True if the spawn should be denied
+     */
+    public static boolean checkChunkEntityCap(Entity entity) {
+        SpongeEntityCategory category = SpongeEntityCategory.of(entity);
+        if (category == SpongeEntityCategory.PLAYER) {
+            return false;
+        }
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(entity.worldObj);
+        int cap = config.getChunkEntityCap(category);
+        if (cap <= 0) {
+            return false;
+        }
+        int chunkX = MathHelper.floor_double(entity.posX / 16.0D);
+        int chunkZ = MathHelper.floor_double(entity.posZ / 16.0D);
+        if (!entity.worldObj.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+            return false;
+        }
+        IMixinChunk chunk = (IMixinChunk) entity.worldObj.getChunkFromChunkCoords(chunkX, chunkZ);
+        if (chunk.getEntityCount(category) < cap) {
+            return false;
+        }
+        if (config.entitySpawnLogging()) {
+            logInfo("[" + config.getConfigName() + "] Dim: {0} Denied spawn, chunk ({1}, {2}) is at its {3} cap of {4}: {5}",
+                    entity.worldObj.provider.getDimensionId(), chunkX, chunkZ, category, cap, entity);
             logStack(config);
-            entity.setDead();
+        }
+        return true;
+    }
+
+    public static boolean checkEntitySpeed(Entity entity, double x, double y, double z) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(entity.worldObj);
+        int maxSpeed = config.getMaxSpeed();
+        if (maxSpeed <= 0 || x * x + z * z <= maxSpeed) {
             return true;
         }
+        removeSpeedViolator(entity, config, x, y, z);
         return false;
     }
 
-    public static boolean checkEntitySpeed(Entity entity, double x, double y, double z) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        int maxSpeed = config.getConfig().getEntity().getMaxSpeed();
-        if (maxSpeed > 0) {
-            double distance = x * x + z * z;
-            if (distance > maxSpeed) {
-                if (config.getConfig().getLogging().logEntitySpeedRemoval()) {
-                    logInfo("[" + config.getConfigName() + "] Speed violation: {0} was over {1} - Removing Entity: {2}", distance, maxSpeed, entity);
-                    if (entity instanceof EntityLivingBase) {
-                        EntityLivingBase livingBase = (EntityLivingBase) entity;
-                        logInfo("[" + config.getConfigName() + "] Entity Motion: ({0}, {1}, {2}) Move Strafing: {3} Move Forward: {4}",
-                                entity.motionX, entity.motionY,
-                                entity.motionZ,
-                                livingBase.moveStrafing, livingBase.moveForward);
-                    }
-
-                    if (config.getConfig().getLogging().logWithStackTraces()) {
-                        logInfo("[" + config.getConfigName() + "] Move offset: ({0}, {1}, {2})", x, y, z);
-                        logInfo("[" + config.getConfigName() + "] Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
-                        logInfo("[" + config.getConfigName() + "] Entity: {0}", entity);
-                        NBTTagCompound tag = new NBTTagCompound();
-                        entity.writeToNBT(tag);
-                        logInfo("[" + config.getConfigName() + "] Entity NBT: {0}", tag);
-                        logStack(config);
-                    }
-                }
-                if (entity instanceof EntityPlayer) { // Skip killing players
-                    entity.motionX = 0;
-                    entity.motionY = 0;
-                    entity.motionZ = 0;
-                    return false;
-                }
-                // Remove the entity;
-                entity.isDead = true;
-                return false;
+    private static void removeSpeedViolator(Entity entity, ActiveConfigSnapshot config, double x, double y, double z) {
+        if (config.logEntitySpeedRemoval()) {
+            logInfo("[" + config.getConfigName() + "] Speed violation: {0} was over {1} - Removing Entity: {2}", x * x + z * z, config.getMaxSpeed(),
+                    entity);
+            if (entity instanceof EntityLivingBase) {
+                EntityLivingBase livingBase = (EntityLivingBase) entity;
+                logInfo("[" + config.getConfigName() + "] Entity Motion: ({0}, {1}, {2}) Move Strafing: {3} Move Forward: {4}",
+                        entity.motionX, entity.motionY,
+                        entity.motionZ,
+                        livingBase.moveStrafing, livingBase.moveForward);
+            }
+
+            if (config.logWithStackTraces()) {
+                logInfo("[" + config.getConfigName() + "] Move offset: ({0}, {1}, {2})", x, y, z);
+                logInfo("[" + config.getConfigName() + "] Motion: ({0}, {1}, {2})", entity.motionX, entity.motionY, entity.motionZ);
+                logInfo("[" + config.getConfigName() + "] Entity: {0}", entity);
+                NBTTagCompound tag = new NBTTagCompound();
+                entity.writeToNBT(tag);
+                logInfo("[" + config.getConfigName() + "] Entity NBT: {0}", tag);
+                logStack(config);
             }
         }
-        return true;
+        if (entity instanceof EntityPlayer) { // Skip killing players
+            entity.motionX = 0;
+            entity.motionY = 0;
+            entity.motionZ = 0;
+            return;
+        }
+        // Remove the entity;
+        entity.isDead = true;
     }
 
     // TODO - needs to be hooked
     @SuppressWarnings("rawtypes")
     public static void logEntitySize(Entity entity, List list) {
-        SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-        if (!config.getConfig().getLogging().logEntityCollisionChecks()) {
+        ActiveConfigSnapshot config = getActiveConfigSnapshot(entity.worldObj);
+        if (!config.logEntityCollisionChecks()) {
             return;
         }
-        int collisionWarnSize = config.getConfig().getEntity().getMaxCollisionSize();
+        int collisionWarnSize = config.getMaxCollisionSize();
 
         if (list == null) {
             return;
@@ -285,6 +337,22 @@ public static void enableThreadContentionMonitoring() {
     }
 
     public static SpongeConfig<?> getActiveConfig(World world) {
+        return getActiveConfigSnapshot(world).getConfig();
+    }
+
+    /**
+     * Gets the settings that currently apply to the world. The snapshot is
+     * cached on the world and replaced after any config is reloaded or
+     * saved.
+     *
+     * @param world The world
+     * @return The resolved settings
+     */
+    public static ActiveConfigSnapshot getActiveConfigSnapshot(World world) {
+        return ((IMixinWorld) world).getActiveConfig();
+    }
+
+    public static SpongeConfig<?> resolveActiveConfig(World world) {
         SpongeConfig<WorldConfig> config = ((IMixinWorld) world).getWorldConfig();
         if (config.getConfig().isConfigEnabled()) {
             return config;
@@ -61,6 +61,12 @@ public static Vector3d toVector3d(BlockPos pos) {
         return new Vector3d(pos.getX(), pos.getY(), pos.getZ());
     }
 
+    // === Block coordinates --> packed long, same layout as BlockPos#toLong() ===
+
+    public static long toLong(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) << 26 | (long) z & 0x3FFFFFFL;
+    }
+
     // === Rotations --> Flow Vector ===
 
     public static Vector3d toVector(Rotations rotation) {
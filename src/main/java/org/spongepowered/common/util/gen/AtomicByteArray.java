@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A byte array in which elements may be updated atomically. Four elements are
+ * packed into every int, so the memory use is the same as a plain byte array.
+ *
+ * <p>Reading a single element never blocks. Single element writes only hold
+ * a {@link StripedBulkLock} stripe shared, so writers on different threads
+ * don't contend. The bulk operations {@link #toArray()} and
+ * {@link #set(byte[])} hold every stripe, and therefore always see or produce
+ * a consistent snapshot of the whole array.</p>
+ */
+public final class AtomicByteArray {
+
+    private final int length;
+    private final AtomicIntegerArray data;
+    private final StripedBulkLock bulkLock = new StripedBulkLock();
+
+    public AtomicByteArray(int length) {
+        this.length = length;
+        this.data = new AtomicIntegerArray((length + 3) >> 2);
+    }
+
+    public AtomicByteArray(byte[] array) {
+        this(array.length);
+        set(array);
+    }
+
+    public int length() {
+        return this.length;
+    }
+
+    public byte get(int index) {
+        checkIndex(index);
+        return (byte) (this.data.get(index >> 2) >>> shift(index));
+    }
+
+    public void set(int index, byte value) {
+        checkIndex(index);
+        final int shift = shift(index);
+        final int mask = 0xFF << shift;
+        final int bits = (value & 0xFF) << shift;
+        final Lock lock = this.bulkLock.elementLock();
+        lock.lock();
+        try {
+            int current;
+            do {
+                current = this.data.get(index >> 2);
+            } while (!this.data.compareAndSet(index >> 2, current, current & ~mask | bits));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces all elements with the ones of the given array.
+     *
+     * @param array The array to copy in, of the same length
+     */
+    public void set(byte[] array) {
+        if (array.length != this.length) {
+            throw new IllegalArgumentException("Expected an array of length " + this.length + " but got " + array.length);
+        }
+        this.bulkLock.lockBulk();
+        try {
+            for (int i = 0; i < this.length; i += 4) {
+                int packed = 0;
+                for (int j = 0; j < 4 && i + j < this.length; j++) {
+                    packed |= (array[i + j] & 0xFF) << (j << 3);
+                }
+                this.data.set(i >> 2, packed);
+            }
+        } finally {
+            this.bulkLock.unlockBulk();
+        }
+    }
+
+    /**
+     * Copies all elements into a new array.
+     *
+     * @return The copy
+     */
+    public byte[] toArray() {
+        final byte[] array = new byte[this.length];
+        this.bulkLock.lockBulk();
+        try {
+            for (int i = 0; i < this.length; i += 4) {
+                final int packed = this.data.get(i >> 2);
+                for (int j = 0; j < 4 && i + j < this.length; j++) {
+                    array[i + j] = (byte) (packed >>> (j << 3));
+                }
+            }
+        } finally {
+            this.bulkLock.unlockBulk();
+        }
+        return array;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException("index " + index);
+        }
+    }
+
+    private static int shift(int index) {
+        return (index & 3) << 3;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * A short array in which elements may be updated atomically. Two elements are
+ * packed into every int, so the memory use is the same as a plain short
+ * array.
+ *
+ * <p>Reading a single element never blocks. Single element writes only hold
+ * a {@link StripedBulkLock} stripe shared, so writers on different threads
+ * don't contend. The bulk operations {@link #toArray()} and
+ * {@link #set(short[])} hold every stripe, and therefore always see or produce
+ * a consistent snapshot of the whole array.</p>
+ */
+public final class AtomicShortArray {
+
+    private final int length;
+    private final AtomicIntegerArray data;
+    private final StripedBulkLock bulkLock = new StripedBulkLock();
+
+    public AtomicShortArray(int length) {
+        this.length = length;
+        this.data = new AtomicIntegerArray((length + 1) >> 1);
+    }
+
+    public AtomicShortArray(short[] array) {
+        this(array.length);
+        set(array);
+    }
+
+    public int length() {
+        return this.length;
+    }
+
+    public short get(int index) {
+        checkIndex(index);
+        return (short) (this.data.get(index >> 1) >>> shift(index));
+    }
+
+    public void set(int index, short value) {
+        checkIndex(index);
+        final int shift = shift(index);
+        final int mask = 0xFFFF << shift;
+        final int bits = (value & 0xFFFF) << shift;
+        final Lock lock = this.bulkLock.elementLock();
+        lock.lock();
+        try {
+            int current;
+            do {
+                current = this.data.get(index >> 1);
+            } while (!this.data.compareAndSet(index >> 1, current, current & ~mask | bits));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces all elements with the ones of the given array.
+     *
+     * @param array The array to copy in, of the same length
+     */
+    public void set(short[] array) {
+        if (array.length != this.length) {
+            throw new IllegalArgumentException("Expected an array of length " + this.length + " but got " + array.length);
+        }
+        this.bulkLock.lockBulk();
+        try {
+            for (int i = 0; i < this.length; i += 2) {
+                final int high = i + 1 < this.length ? (array[i + 1] & 0xFFFF) << 16 : 0;
+                this.data.set(i >> 1, high | array[i] & 0xFFFF);
+            }
+        } finally {
+            this.bulkLock.unlockBulk();
+        }
+    }
+
+    /**
+     * Copies all elements into a new array.
+     *
+     * @return The copy
+     */
+    public short[] toArray() {
+        final short[] array = new short[this.length];
+        this.bulkLock.lockBulk();
+        try {
+            for (int i = 0; i < this.length; i += 2) {
+                final int packed = this.data.get(i >> 1);
+                array[i] = (short) packed;
+                if (i + 1 < this.length) {
+                    array[i + 1] = (short) (packed >>> 16);
+                }
+            }
+        } finally {
+            this.bulkLock.unlockBulk();
+        }
+        return array;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException("index " + index);
+        }
+    }
+
+    private static int shift(int index) {
+        return (index & 1) << 4;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The lock of a thread safe array or buffer, which lets bulk operations see
+ * or produce a consistent snapshot of the whole array.
+ *
+ * <p>Single element writes only take a shared lock on the stripe of the
+ * writing thread, so threads filling the same array in parallel rarely
+ * touch the same lock. Bulk operations take every stripe exclusively.</p>
+ */
+final class StripedBulkLock {
+
+    private static final int STRIPES = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1, 32);
+
+    private final Lock[] elementLocks = new Lock[STRIPES];
+    private final Lock[] bulkLocks = new Lock[STRIPES];
+
+    StripedBulkLock() {
+        for (int i = 0; i < STRIPES; i++) {
+            ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+            this.elementLocks[i] = lock.readLock();
+            this.bulkLocks[i] = lock.writeLock();
+        }
+    }
+
+    /**
+     * Gets the lock to hold while writing a single element from the current
+     * thread.
+     *
+     * @return The lock
+     */
+    Lock elementLock() {
+        // Thread ids are handed out in sequence, so worker threads spread over the stripes
+        return this.elementLocks[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+    }
+
+    void lockBulk() {
+        for (Lock lock : this.bulkLocks) {
+            lock.lock();
+        }
+    }
+
+    void unlockBulk() {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            this.bulkLocks[i].unlock();
+        }
+    }
+}
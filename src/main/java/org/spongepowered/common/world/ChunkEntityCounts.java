@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.tileentity.TileEntity;
+import org.spongepowered.common.entity.SpongeEntityCategory;
+
+/**
+ * Live counts of the entities and tile entities in a chunk, by category and
+ * by exact class. The chunk has to report every entity and tile entity that
+ * is actually added to or removed from it.
+ */
+public final class ChunkEntityCounts {
+
+    private final int[] categoryCounts = new int[SpongeEntityCategory.values().length];
+    private final TObjectIntHashMap<Class<?>> entityTypeCounts = new TObjectIntHashMap<Class<?>>();
+    private final TObjectIntHashMap<Class<?>> tileEntityTypeCounts = new TObjectIntHashMap<Class<?>>();
+    private int entityCount;
+    private int tileEntityCount;
+
+    public void entityAdded(Entity entity) {
+        this.entityCount++;
+        this.categoryCounts[SpongeEntityCategory.of(entity).ordinal()]++;
+        this.entityTypeCounts.adjustOrPutValue(entity.getClass(), 1, 1);
+    }
+
+    public void entityRemoved(Entity entity) {
+        this.entityCount--;
+        this.categoryCounts[SpongeEntityCategory.of(entity).ordinal()]--;
+        decrement(this.entityTypeCounts, entity.getClass());
+    }
+
+    public void tileEntityAdded(TileEntity tileEntity) {
+        this.tileEntityCount++;
+        this.tileEntityTypeCounts.adjustOrPutValue(tileEntity.getClass(), 1, 1);
+    }
+
+    public void tileEntityRemoved(TileEntity tileEntity) {
+        this.tileEntityCount--;
+        decrement(this.tileEntityTypeCounts, tileEntity.getClass());
+    }
+
+    private static void decrement(TObjectIntHashMap<Class<?>> counts, Class<?> type) {
+        if (counts.adjustOrPutValue(type, -1, 0) <= 0) {
+            counts.remove(type);
+        }
+    }
+
+    public int getEntityCount() {
+        return this.entityCount;
+    }
+
+    public int getEntityCount(SpongeEntityCategory category) {
+        return this.categoryCounts[category.ordinal()];
+    }
+
+    public int getEntityCount(Class<? extends Entity> type) {
+        return this.entityTypeCounts.get(type);
+    }
+
+    public int getTileEntityCount() {
+        return this.tileEntityCount;
+    }
+
+    public int getTileEntityCount(Class<? extends TileEntity> type) {
+        return this.tileEntityTypeCounts.get(type);
+    }
+
+}
@@ -49,6 +49,7 @@
 import org.spongepowered.common.interfaces.IMixinEntityPlayerMP;
 import org.spongepowered.common.interfaces.IMixinMinecraftServer;
 import org.spongepowered.common.interfaces.IMixinWorldProvider;
+import org.spongepowered.common.metrics.SpongeMetrics;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -207,10 +208,12 @@ public static void setWorld(int id, WorldServer world) {
             worlds.put(id, world);
             weakWorldMap.put(world, world);
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().put(id, new long[100]);
+            SpongeMetrics.registerWorld(world);
             Sponge.getLogger().info("Loading dimension {} ({}) ({})", id, world.getWorldInfo().getWorldName(), world.getMinecraftServer());
         } else {
             worlds.remove(id);
             ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().remove(id);
+            SpongeMetrics.unregisterWorld(id);
             Sponge.getLogger().info("Unloading dimension {}", id);
         }
 
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.util.LongHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A side index over the pending block updates of a world, keyed by the packed
+ * long form of their position (see {@link net.minecraft.util.BlockPos#toLong()}).
+ *
+ * <p>The index mirrors the membership of the world's pending tick set and has
+ * to be updated by every code path that adds or removes an entry from it,
+ * through {@link #addPending} and {@link #removePending}.</p>
+ *
+ * @param <E> The type of the pending entry
+ */
+public final class PendingTickIndex<E> {
+
+    private final LongHashMap entries = new LongHashMap();
+    private int size;
+
+    /**
+     * Adds an entry at the given packed position.
+     *
+     * @param position The packed position
+     * @param entry The entry
+     */
+    @SuppressWarnings("unchecked")
+    public void add(long position, E entry) {
+        checkNotNull(entry, "entry");
+        List<E> list = (List<E>) this.entries.getValueByKey(position);
+        if (list == null) {
+            list = new ArrayList<E>(2);
+            this.entries.add(position, list);
+        }
+        list.add(entry);
+        this.size++;
+    }
+
+    /**
+     * Removes an entry from the given packed position.
+     *
+     * @param position The packed position
+     * @param entry The entry
+     * @return Whether the entry was present
+     */
+    @SuppressWarnings("unchecked")
+    public boolean remove(long position, E entry) {
+        List<E> list = (List<E>) this.entries.getValueByKey(position);
+        if (list == null || !list.remove(entry)) {
+            return false;
+        }
+        if (list.isEmpty()) {
+            this.entries.remove(position);
+        }
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Adds an entry to the pending tick set, and to the index if the set did
+     * not already contain an equal entry.
+     *
+     * @param pending The pending tick set
+     * @param position The packed position of the entry
+     * @param entry The entry
+     * @return Whether the set changed
+     */
+    public boolean addPending(Set<E> pending, long position, E entry) {
+        if (pending.add(entry)) {
+            add(position, entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes an entry from the pending tick set, and from the index if the
+     * set contained it.
+     *
+     * @param pending The pending tick set
+     * @param position The packed position of the entry
+     * @param entry The entry
+     * @return Whether the set changed
+     */
+    public boolean removePending(Set<E> pending, long position, E entry) {
+        if (pending.remove(entry)) {
+            remove(position, entry);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets all entries at the given packed position.
+     *
+     * @param position The packed position
+     * @return An immutable copy of the entries at the position
+     */
+    @SuppressWarnings("unchecked")
+    public List<E> get(long position) {
+        List<E> list = (List<E>) this.entries.getValueByKey(position);
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        return ImmutableList.copyOf(list);
+    }
+
+    public int size() {
+        return this.size;
+    }
+}
@@ -28,11 +28,14 @@
 import com.google.common.base.Optional;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
-import org.spongepowered.api.block.BlockType;
-import org.spongepowered.api.block.BlockTypes;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.TeleportHelper;
 import org.spongepowered.api.world.World;
+import org.spongepowered.common.util.SpongeHooks;
+
+import javax.annotation.Nullable;
 
 public class SpongeTeleportHelper implements TeleportHelper {
 
@@ -43,166 +46,220 @@ public Optional<Location<World>> getSafeLocation(Location<World> location) {
 
     @Override
     public Optional<Location<World>> getSafeLocation(Location<World> location, final int height, final int width) {
-        // Check around the player first in a configurable radius:
-        final Optional<Location<World>> safe = checkAboveAndBelowLocation(location, height, width);
-        if (safe.isPresent()) {
-            // Add 0.5 to X and Z of block position so always in centre of block
-            return Optional.of(new Location<World>(safe.get().getExtent(), safe.get().getBlockPosition().toDouble().add(0.5, 0, 0.5)));
-        }
-        return safe;
+        final boolean loadChunks = SpongeHooks.getActiveConfig((net.minecraft.world.World) location.getExtent()).getConfig().getWorld()
+                .teleportHelperLoadsChunks();
+        return getSafeLocation(location, height, width, loadChunks);
     }
 
-    private Optional<Location<World>> checkAboveAndBelowLocation(Location<World> location, final int height, final int width) {
-        // For now this will just do a straight up block.
-        // Check the main level
-        Optional<Location<World>> safe = checkAroundLocation(location, width);
-
+    /**
+     * Gets the next safe location around the given location. Positions in
+     * chunks that are not loaded are only considered if loadChunks is true, in
+     * which case those chunks are loaded or generated. The API methods take
+     * it from the world's teleport-helper-load-chunks setting.
+     *
+     * @param location The location to search around
+     * @param height The distance to search above and below the location
+     * @param width The horizontal distance to search around the location
+     * @param loadChunks Whether to load or generate chunks that are not loaded
+     * @return The safe location, if found
+     */
+    public Optional<Location<World>> getSafeLocation(Location<World> location, final int height, final int width, boolean loadChunks) {
+        final Vector3i origin = location.getBlockPosition();
+        final SafeLocationSearch search = new SafeLocationSearch((net.minecraft.world.World) location.getExtent(), origin, height, width,
+                location.getExtent().getDimension().getHeight(), loadChunks);
+        final Optional<Vector3i> safe = search.find();
         if (safe.isPresent()) {
-            return safe;
-        }
-
-        // We've already checked zero right above this.
-        for (int currentLevel = 1; currentLevel <= height; currentLevel++) {
-            // Check above
-            safe = checkAroundLocation(location.add(0, currentLevel, 0), width);
-            if (safe.isPresent()) {
-                return safe;
-            }
-
-            // Check below
-            safe = checkAroundLocation(location.add(0, -currentLevel, 0), width);
-            if (safe.isPresent()) {
-                return safe;
-            }
+            // Add 0.5 to X and Z of block position so always in centre of block
+            return Optional.of(new Location<World>(location.getExtent(), safe.get().toDouble().add(0.5, 0, 0.5)));
         }
-
         return Optional.absent();
     }
 
-    private Optional<Location<World>> checkAroundLocation(Location<World> location, final int radius) {
-        if (isSafeLocation(location.getExtent(), location.getBlockPosition())) {
-            return Optional.of(location);
-        }
+    public boolean isSafeLocation(World world, Vector3i blockPos) {
+        return new SafeLocationSearch((net.minecraft.world.World) world, blockPos, 0, 0, world.getDimension().getHeight(), true)
+                .isSafe(blockPos.getX(), blockPos.getY(), blockPos.getZ());
+    }
 
-        // Now we're going to search in expanding concentric circles...
-        for (int currentRadius = 0; currentRadius <= radius; currentRadius++) {
-            Optional<Vector3i> safePosition = checkAroundSpecificDiameter(location, currentRadius);
-            if (safePosition.isPresent()) {
-                // If a safe area was found: Return the checkLoc, it is the safe
-                // location.
-                return Optional.of(new Location<World>(location.getExtent(), safePosition.get()));
-            }
-        }
+    private static boolean isSafeFloorMaterial(Material material) {
+        return !(material == Material.cactus || material == Material.fire || material == Material.lava);
+    }
 
-        return Optional.absent();
+    private static boolean isSafeBodyMaterial(Material material) {
+        return (material == Material.air || material == Material.grass || material == Material.plants
+                || material == Material.water || material == Material.redstoneLight || material == Material.circuits
+                || material == Material.snow || material == Material.portal || material == Material.web || material == Material.vine);
     }
 
-    private Optional<Vector3i> checkAroundSpecificDiameter(Location<World> checkLoc, final int radius) {
-        World world = checkLoc.getExtent();
-        Vector3i blockPos = checkLoc.getBlockPosition();
-        // Check out at the radius provided.
-        blockPos = blockPos.add(radius, 0, 0);
-        if (isSafeLocation(world, blockPos)) {
-            return Optional.of(blockPos);
+    /**
+     * The state of a single search. The blocks of every column are read once
+     * from the chunk and cached, so overlapping candidates don't read the
+     * same blocks again.
+     */
+    static class SafeLocationSearch {
+
+        private final net.minecraft.world.World world;
+        private final int originX;
+        private final int originY;
+        private final int originZ;
+        private final int height;
+        private final int width;
+        private final int diameter;
+        // A candidate at y reads from y - 3 (when falling through air) up to y + 1
+        private final int minY;
+        private final int maxY;
+        private final int maxHeight;
+        private final boolean loadChunks;
+        private final Block[][] columns;
+        private final boolean[] columnsRead;
+
+        SafeLocationSearch(net.minecraft.world.World world, Vector3i origin, int height, int width, int maxHeight, boolean loadChunks) {
+            this.world = world;
+            this.originX = origin.getX();
+            this.originY = origin.getY();
+            this.originZ = origin.getZ();
+            this.height = height;
+            this.width = width;
+            this.diameter = width * 2 + 1;
+            this.minY = Math.max(origin.getY() - height - 3, 0);
+            this.maxY = Math.min(origin.getY() + height + 1, 255);
+            this.maxHeight = maxHeight;
+            this.loadChunks = loadChunks;
+            this.columns = new Block[this.diameter * this.diameter][];
+            this.columnsRead = new boolean[this.diameter * this.diameter];
         }
 
-        // Move up to the first corner..
-        for (int i = 0; i < radius; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
+        /**
+         * Finds the nearest safe position, checking the level of the origin
+         * first, then alternately the levels above and below it.
+         */
+        Optional<Vector3i> find() {
+            for (int level = 0; level <= this.height; level++) {
+                Optional<Vector3i> safe = checkAroundLevel(this.originY + level);
+                if (!safe.isPresent() && level != 0) {
+                    safe = checkAroundLevel(this.originY - level);
+                }
+                if (safe.isPresent()) {
+                    return safe;
+                }
             }
+            return Optional.absent();
         }
 
-        // Move to the second corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
+        /**
+         * Checks the given level in square rings of increasing radius around
+         * the origin.
+         */
+        Optional<Vector3i> checkAroundLevel(int y) {
+            for (int radius = 0; radius <= this.width; radius++) {
+                final int minX = this.originX - radius;
+                final int maxX = this.originX + radius;
+                final int minZ = this.originZ - radius;
+                final int maxZ = this.originZ + radius;
+                for (int x = minX; x <= maxX; x++) {
+                    // Only the edge of the square is new at this radius
+                    final int step = x == minX || x == maxX ? 1 : maxZ - minZ;
+                    for (int z = minZ; z <= maxZ; z += step) {
+                        if (isSafe(x, y, z)) {
+                            return Optional.of(new Vector3i(x, y, z));
+                        }
+                    }
+                }
             }
+            return Optional.absent();
         }
 
-        // Move to the third corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
+        boolean isSafe(int x, int y, int z) {
+            final Block[] column = getColumn(x, z);
+            // Unloaded, or nothing to stand on in the whole searched range
+            if (column == null) {
+                return false;
             }
+            return isBodySafe(column, y) && isBodySafe(column, y + 1) && isFloorSafe(column, y - 1);
         }
 
-        // Move to the last corner..
-        for (int i = 0; i < radius * 2; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
+        private boolean isInHeight(int y) {
+            return y > 0 && y <= this.maxHeight;
         }
 
-        // Move back to just before the starting point.
-        for (int i = 0; i < radius - 1; i++) {
-            blockPos = blockPos.add(radius, 0, 0);
-            if (isSafeLocation(world, blockPos)) {
-                return Optional.of(blockPos);
-            }
+        private boolean isBodySafe(Block[] column, int y) {
+            // We need to make sure the block at our torso or head is safe
+            return isInHeight(y) && isSafeBodyMaterial(getBlock(column, y).getMaterial());
         }
-        return Optional.absent();
-    }
 
-    public boolean isSafeLocation(World world, Vector3i blockPos) {
-        final Vector3i up = blockPos.add(Vector3i.UP);
-        final Vector3i down = blockPos.sub(Vector3i.UP);
+        private boolean isFloorSafe(Block[] column, int y) {
+            if (!isInHeight(y)) {
+                return false;
+            }
+            final Block block = getBlock(column, y);
+            if (block != Blocks.air) {
+                // We have a non-air floor, need to ensure its safe
+                return isSafeFloorMaterial(block.getMaterial());
+            }
 
-        return !(!isBlockSafe(world, blockPos, false) || !isBlockSafe(world, up, false) || !isBlockSafe(world, down, true));
+            // Floor is air so we'll fall, need to make sure we fall safely.
+            final Block below = getBlock(column, y - 1);
+            final Block below2 = getBlock(column, y - 2);
 
-    }
+            // We'll fall too far, not safe
+            if (below == Blocks.air && below2 == Blocks.air) {
+                return false;
+            }
 
-    private boolean isBlockSafe(World world, Vector3i blockPos, boolean floorBlock) {
-        final BlockType block = world.getBlockType(blockPos);
+            // We'll fall onto a block, need to make sure its safe
+            if (below != Blocks.air && !isSafeFloorMaterial(below.getMaterial())) {
+                return false;
+            }
 
-        if (blockPos.getY() <= 0) {
-            return false;
+            // We'll fall through an air block to another, need to make sure its safe
+            return isSafeFloorMaterial(below2.getMaterial());
         }
 
-        if (blockPos.getY() > world.getDimension().getHeight()) {
-            return false;
+        private Block getBlock(Block[] column, int y) {
+            if (y < this.minY || y > this.maxY) {
+                return Blocks.air;
+            }
+            return column[y - this.minY];
         }
 
-        if (floorBlock) {
-            // Floor is air so we'll fall, need to make sure we fall safely.
-            if (block == BlockTypes.AIR) {
-                final BlockType typeBelowPos = world.getBlockType(blockPos.sub(0, 1, 0));
-                final BlockType typeBelowPos2 = world.getBlockType(blockPos.sub(0, 2, 0));
-
-                // We'll fall too far, not safe
-                if (typeBelowPos == BlockTypes.AIR && typeBelowPos2 == BlockTypes.AIR) {
-                    return false;
-                }
-
-                // We'll fall onto a block, need to make sure its safe
-                if (typeBelowPos != BlockTypes.AIR && !isSafeFloorMaterial(((Block) typeBelowPos).getMaterial())) {
-                    return false;
-                }
-
-                // We'll fall through an air block to another, need to make sure
-                // its safe
-                return isSafeFloorMaterial(((Block) typeBelowPos2).getMaterial());
+        private Block[] getColumn(int x, int z) {
+            final int index = (x - this.originX + this.width) * this.diameter + (z - this.originZ + this.width);
+            if (!this.columnsRead[index]) {
+                this.columnsRead[index] = true;
+                this.columns[index] = readColumn(x, z);
             }
-
-            // We have a non-air floor, need to ensure its safe
-            return isSafeFloorMaterial(((Block) block).getMaterial());
+            return this.columns[index];
         }
 
-        // We need to make sure the block at our torso or head is safe
-        return isSafeBodyMaterial(((Block) block).getMaterial());
-    }
-
-    private boolean isSafeFloorMaterial(Material material) {
-        return !(material == Material.cactus || material == Material.fire || material == Material.lava);
-    }
+        /**
+         * Gets the chunk at the given chunk coordinates.
+         *
+         * @return The chunk, or null if it is not loaded and chunks may not be
+         *     loaded
+         */
+        @Nullable
+        Chunk getChunk(int chunkX, int chunkZ) {
+            if (!this.loadChunks && !this.world.getChunkProvider().chunkExists(chunkX, chunkZ)) {
+                return null;
+            }
+            return this.world.getChunkFromChunkCoords(chunkX, chunkZ);
+        }
 
-    private boolean isSafeBodyMaterial(Material material) {
-        return (material == Material.air || material == Material.grass || material == Material.plants
-                || material == Material.water || material == Material.redstoneLight || material == Material.circuits
-                || material == Material.snow || material == Material.portal || material == Material.web || material == Material.vine);
+        @Nullable
+        private Block[] readColumn(int x, int z) {
+            final Chunk chunk = getChunk(x >> 4, z >> 4);
+            if (chunk == null) {
+                return null;
+            }
+            // A column whose top block is below the searched range has nothing to stand on,
+            // only blocks that block light count for the height map
+            if (chunk.getHeightValue(x & 15, z & 15) <= this.minY) {
+                return null;
+            }
+            final Block[] column = new Block[this.maxY - this.minY + 1];
+            for (int y = this.minY; y <= this.maxY; y++) {
+                column[y - this.minY] = chunk.getBlock(x, y, z);
+            }
+            return column;
+        }
     }
 }
@@ -27,7 +27,11 @@
 import com.flowpowered.math.vector.Vector2i;
 import com.flowpowered.math.vector.Vector3i;
 import net.minecraft.block.Block;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
 import net.minecraft.world.biome.BiomeGenBase;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.world.extent.BiomeArea;
 import org.spongepowered.api.world.extent.BlockVolume;
 
@@ -58,6 +62,19 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
             throw new OutOfMemoryError("Cannot copy the blocks to an array because the size limit was reached");
         }
         final short[] copy = new short[(int) memory];
+        if (volume instanceof Chunk && ((World) ((org.spongepowered.api.world.Chunk) volume).getWorld()).getWorldType() != WorldType.DEBUG_WORLD) {
+            copyFromChunk((Chunk) volume, min, max, size, copy);
+            return copy;
+        }
+        if (volume instanceof World && ((World) volume).getWorldType() != WorldType.DEBUG_WORLD) {
+            final World world = (World) volume;
+            for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+                for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                    copyFromChunk(world.getChunkFromChunkCoords(chunkX, chunkZ), min, max, size, copy);
+                }
+            }
+            return copy;
+        }
         int i = 0;
         for (int x = min.getX(); x <= max.getX(); x++) {
             for (int z = min.getZ(); z <= max.getZ(); z++) {
@@ -69,4 +86,44 @@ public static short[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max
         return copy;
     }
 
+    /**
+     * Copies the part of the chunk that intersects the given bounds into the
+     * copy, which is indexed the same way as {@link #copyToArray(BlockVolume, Vector3i, Vector3i, Vector3i)}.
+     * This reads the state ids straight from the sections, skipping empty
+     * sections entirely since the copy is already filled with air.
+     */
+    static void copyFromChunk(Chunk chunk, Vector3i min, Vector3i max, Vector3i size, short[] copy) {
+        final int chunkMinX = chunk.xPosition << 4;
+        final int chunkMinZ = chunk.zPosition << 4;
+        final int fromX = Math.max(min.getX(), chunkMinX);
+        final int toX = Math.min(max.getX(), chunkMinX + 15);
+        final int fromZ = Math.max(min.getZ(), chunkMinZ);
+        final int toZ = Math.min(max.getZ(), chunkMinZ + 15);
+        final int yLine = size.getY();
+        final int yzSlice = yLine * size.getZ();
+        final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+        final int fromSection = Math.max(min.getY() >> 4, 0);
+        final int toSection = Math.min(max.getY() >> 4, sections.length - 1);
+        for (int sectionY = fromSection; sectionY <= toSection; sectionY++) {
+            final ExtendedBlockStorage section = sections[sectionY];
+            if (section == null) {
+                continue;
+            }
+            final char[] data = section.getData();
+            final int fromY = Math.max(min.getY(), sectionY << 4);
+            final int toY = Math.min(max.getY(), (sectionY << 4) + 15);
+            for (int x = fromX; x <= toX; x++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    int index = (x - min.getX()) * yzSlice + (z - min.getZ()) * yLine + (fromY - min.getY());
+                    final int column = (z & 15) << 4 | x & 15;
+                    for (int y = fromY; y <= toY; y++) {
+                        final char id = data[(y & 15) << 8 | column];
+                        // Ids without a registered state are read back as air
+                        copy[index++] = Block.BLOCK_STATE_IDS.getByValue(id) == null ? 0 : (short) id;
+                    }
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.nbt.NBTTagByte;
+import net.minecraft.nbt.NBTTagInt;
+import net.minecraft.nbt.NBTTagString;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class NbtDataUtilTest {
+
+    @Test
+    public void testMixHashIsDistinct() {
+        Set<Long> hashes = new HashSet<Long>();
+        for (long i = 0; i < 4096; i++) {
+            hashes.add(NbtDataUtil.mixHash(i));
+        }
+        assertEquals(4096, hashes.size());
+    }
+
+    @Test
+    public void testMixHashAvalanche() {
+        // Flipping a single input bit should flip about half of the output bits
+        long flipped = 0;
+        int samples = 0;
+        for (long i = 0; i < 256; i++) {
+            for (int bit = 0; bit < 64; bit++) {
+                flipped += Long.bitCount(NbtDataUtil.mixHash(i) ^ NbtDataUtil.mixHash(i ^ (1L << bit)));
+                samples++;
+            }
+        }
+        double average = (double) flipped / samples;
+        assertTrue(average > 30 && average < 34);
+    }
+
+    @Test
+    public void testPrimitiveHash() {
+        assertEquals(NbtDataUtil.getPrimitiveHash(new NBTTagString("sharpness")), NbtDataUtil.getPrimitiveHash(new NBTTagString("sharpness")));
+        assertFalse(NbtDataUtil.getPrimitiveHash(new NBTTagString("sharpness")) == NbtDataUtil.getPrimitiveHash(new NBTTagString("smite")));
+        assertFalse(NbtDataUtil.getPrimitiveHash(new NBTTagInt(1)) == NbtDataUtil.getPrimitiveHash(new NBTTagByte((byte) 1)));
+    }
+
+    @Test
+    public void testCompoundEntriesAreUnordered() {
+        long id = NbtDataUtil.getPrimitiveHash(new NBTTagInt(16));
+        long lvl = NbtDataUtil.getPrimitiveHash(new NBTTagInt(5));
+        long forward = NbtDataUtil.addCompoundEntry(NbtDataUtil.addCompoundEntry(NbtDataUtil.TAG_COMPOUND, "id", id), "lvl", lvl);
+        long backward = NbtDataUtil.addCompoundEntry(NbtDataUtil.addCompoundEntry(NbtDataUtil.TAG_COMPOUND, "lvl", lvl), "id", id);
+        assertEquals(forward, backward);
+
+        // Swapping the values between the keys is a different compound
+        long swapped = NbtDataUtil.addCompoundEntry(NbtDataUtil.addCompoundEntry(NbtDataUtil.TAG_COMPOUND, "id", lvl), "lvl", id);
+        assertFalse(forward == swapped);
+    }
+
+    @Test
+    public void testListElementsAreOrdered() {
+        long first = NbtDataUtil.getPrimitiveHash(new NBTTagString("Page one"));
+        long second = NbtDataUtil.getPrimitiveHash(new NBTTagString("Page two"));
+        long forward = NbtDataUtil.addListElement(NbtDataUtil.addListElement(NbtDataUtil.TAG_LIST, first), second);
+        long backward = NbtDataUtil.addListElement(NbtDataUtil.addListElement(NbtDataUtil.TAG_LIST, second), first);
+        assertFalse(forward == backward);
+        assertEquals(forward, NbtDataUtil.addListElement(NbtDataUtil.addListElement(NbtDataUtil.TAG_LIST, first), second));
+    }
+
+    @Test
+    public void testStampPropagatesToParents() {
+        NbtModificationStamp root = new NbtModificationStamp();
+        NbtModificationStamp display = new NbtModificationStamp();
+        NbtModificationStamp lore = new NbtModificationStamp();
+        display.setParent(root);
+        lore.setParent(display);
+
+        int rootStamp = root.get();
+        int displayStamp = display.get();
+        lore.markModified();
+        assertFalse(rootStamp == root.get());
+        assertFalse(displayStamp == display.get());
+
+        // Changes to a parent don't reach its children
+        int loreStamp = lore.get();
+        root.markModified();
+        assertEquals(loreStamp, lore.get());
+    }
+
+    @Test
+    public void testStampOfPreviousParentChangesOnMove() {
+        NbtModificationStamp first = new NbtModificationStamp();
+        NbtModificationStamp second = new NbtModificationStamp();
+        NbtModificationStamp display = new NbtModificationStamp();
+        display.setParent(first);
+
+        // The first parent no longer sees changes to the tag, so moving it has to count as one
+        int firstStamp = first.get();
+        display.setParent(second);
+        assertFalse(firstStamp == first.get());
+        assertSame(second, display.getParent());
+
+        firstStamp = first.get();
+        int secondStamp = second.get();
+        display.markModified();
+        assertEquals(firstStamp, first.get());
+        assertFalse(secondStamp == second.get());
+
+        // Linking to the same parent again is not a move
+        secondStamp = second.get();
+        display.setParent(second);
+        assertEquals(secondStamp, second.get());
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class SpongeMetricsTest {
+
+    private static final long MILLIS = 1000000L;
+
+    private MBeanServer server;
+    private ObjectName name;
+
+    @Before
+    public void setUp() throws Exception {
+        SpongeMetrics.reset();
+        SpongeMetrics.registerServer();
+        this.server = ManagementFactory.getPlatformMBeanServer();
+        this.name = SpongeMetrics.getServerObjectName();
+    }
+
+    @After
+    public void tearDown() {
+        SpongeMetrics.unregisterAll();
+        SpongeMetrics.reset();
+    }
+
+    @Test
+    public void testCountersAreExported() throws Exception {
+        assertTrue(this.server.isRegistered(this.name));
+        for (int i = 0; i < 5; i++) {
+            SpongeMetrics.eventPosted();
+        }
+        SpongeMetrics.taskRun();
+        assertEquals(5L, this.server.getAttribute(this.name, "EventsPosted"));
+        assertEquals(1L, this.server.getAttribute(this.name, "TasksRun"));
+    }
+
+    @Test
+    public void testTickRate() throws Exception {
+        // 100ms between tick starts, each tick taking 40ms
+        for (int i = 0; i < 10; i++) {
+            final long start = i * 100 * MILLIS;
+            SpongeMetrics.tickStarted(start);
+            SpongeMetrics.tickEnded(start + 40 * MILLIS);
+        }
+        assertEquals(10L, this.server.getAttribute(this.name, "TickCount"));
+        assertEquals(10.0D, (Double) this.server.getAttribute(this.name, "TicksPerSecond"), 0.001D);
+        assertEquals(40.0D, (Double) this.server.getAttribute(this.name, "MeanTickTime"), 0.001D);
+    }
+
+    @Test
+    public void testTicksPerSecondIsCapped() throws Exception {
+        for (int i = 0; i < 150; i++) {
+            final long start = i * 10 * MILLIS;
+            SpongeMetrics.tickStarted(start);
+            SpongeMetrics.tickEnded(start + MILLIS);
+        }
+        assertEquals(20.0D, (Double) this.server.getAttribute(this.name, "TicksPerSecond"), 0.001D);
+        assertEquals(1.0D, (Double) this.server.getAttribute(this.name, "MeanTickTime"), 0.001D);
+    }
+
+    @Test
+    public void testUnregister() {
+        SpongeMetrics.unregisterAll();
+        assertFalse(this.server.isRegistered(this.name));
+    }
+
+}
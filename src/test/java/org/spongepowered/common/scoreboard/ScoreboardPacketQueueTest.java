@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.scoreboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+public class ScoreboardPacketQueueTest {
+
+    @Test
+    public void testScoresKeepLastValue() {
+        ScoreboardPacketQueue<String> queue = new ScoreboardPacketQueue<String>();
+        queue.scoreUpdated("sidebar", "line1", "score line1=1");
+        queue.scoreUpdated("sidebar", "line2", "score line2=1");
+        queue.scoreUpdated("sidebar", "line1", "score line1=2");
+        queue.scoreUpdated("sidebar", "line1", "score line1=3");
+        assertEquals(ImmutableList.of("score line2=1", "score line1=3"), queue.drain());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testTeamInfoKeepsLastValue() {
+        ScoreboardPacketQueue<String> queue = new ScoreboardPacketQueue<String>();
+        queue.teamUpdated("line1", "prefix a");
+        queue.teamPlayersChanged("line1", "add player");
+        queue.teamUpdated("line1", "prefix b");
+        assertEquals(ImmutableList.of("add player", "prefix b"), queue.drain());
+    }
+
+    @Test
+    public void testRecreatedSidebar() {
+        ScoreboardPacketQueue<String> queue = new ScoreboardPacketQueue<String>();
+        queue.scoreUpdated("sidebar", "line1", "old line1");
+        queue.objectiveRemoved("sidebar", "remove sidebar");
+        queue.objectiveCreated("sidebar", "create sidebar");
+        queue.displaySlotSet(1, "display none");
+        queue.scoreUpdated("sidebar", "line1", "score line1=1");
+        queue.displaySlotSet(1, "display sidebar");
+        queue.scoreUpdated("sidebar", "line1", "score line1=2");
+        assertEquals(ImmutableList.of("remove sidebar", "create sidebar", "display sidebar", "score line1=2"), queue.drain());
+    }
+
+    @Test
+    public void testCreateAndRemoveCancelOut() {
+        ScoreboardPacketQueue<String> queue = new ScoreboardPacketQueue<String>();
+        queue.objectiveCreated("temp", "create temp");
+        queue.scoreUpdated("temp", "line1", "score line1=1");
+        queue.objectiveUpdated("temp", "rename temp");
+        queue.objectiveRemoved("temp", "remove temp");
+        queue.teamCreated("team", "create team");
+        queue.teamPlayersChanged("team", "add player");
+        queue.teamUpdated("team", "prefix");
+        queue.teamRemoved("team", "remove team");
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemovalDropsPendingChanges() {
+        ScoreboardPacketQueue<String> queue = new ScoreboardPacketQueue<String>();
+        queue.scoreUpdated("sidebar", "line1", "score line1=1");
+        queue.scoreUpdated("list", "line1", "list line1=1");
+        queue.scoreUpdated("sidebar", "line2", "score line2=1");
+        queue.scoresReset("line1", "reset line1");
+        queue.scoresReset("line1", "reset line1 again");
+        queue.teamUpdated("team", "prefix");
+        queue.teamRemoved("team", "remove team");
+        assertEquals(ImmutableList.of("score line2=1", "reset line1", "remove team"), queue.drain());
+    }
+
+}
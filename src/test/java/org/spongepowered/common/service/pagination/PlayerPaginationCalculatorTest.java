@@ -0,0 +1,74 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.pagination;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+import org.spongepowered.api.entity.player.Player;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.Texts;
+import org.spongepowered.api.text.format.TextStyles;
+
+public class PlayerPaginationCalculatorTest {
+
+    private final PlayerPaginationCalculator calculator = new PlayerPaginationCalculator();
+    private final Player player = mock(Player.class);
+
+    @Test
+    public void testLines() {
+        // 'a' is 6 columns wide, 320 columns per line
+        assertEquals(1, this.calculator.getLines(this.player, Texts.of(Strings.repeat("a", 53))));
+        assertEquals(2, this.calculator.getLines(this.player, Texts.of(Strings.repeat("a", 54))));
+        // Bold adds one column per character
+        assertEquals(1, this.calculator.getLines(this.player, Texts.of(TextStyles.BOLD, Strings.repeat("a", 45))));
+        assertEquals(2, this.calculator.getLines(this.player, Texts.of(TextStyles.BOLD, Strings.repeat("a", 46))));
+    }
+
+    @Test
+    public void testLengthIsCachedPerText() {
+        Text text = Texts.of("Hello ", Texts.of(TextStyles.BOLD, Strings.repeat("i", 200)));
+        int lines = this.calculator.getLines(this.player, text);
+        assertEquals(0, this.calculator.getLengthCacheStats().hitCount());
+        assertEquals(lines, this.calculator.getLines(this.player, text));
+        assertEquals(1, this.calculator.getLengthCacheStats().hitCount());
+        // Texts are cached by identity, an equal text is measured again
+        assertEquals(lines, this.calculator.getLines(this.player, Texts.of("Hello ", Texts.of(TextStyles.BOLD, Strings.repeat("i", 200)))));
+        assertEquals(1, this.calculator.getLengthCacheStats().hitCount());
+    }
+
+    @Test
+    public void testSupplementaryCharactersCountOnce() {
+        String pair = new String(Character.toChars(0x1F600));
+        Text text = Texts.of(Strings.repeat("a", 53));
+        assertEquals(1, this.calculator.getLines(this.player, text));
+        // One replacement sized glyph, not two
+        assertEquals(this.calculator.getLines(this.player, Texts.of(Strings.repeat("a", 53) + '\uFFFD')),
+                this.calculator.getLines(this.player, Texts.of(Strings.repeat("a", 53) + pair)));
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.status;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+
+public class StatusPingLimiterTest {
+
+    @Test
+    public void testLimitPerSecond() throws Exception {
+        StatusPingLimiter limiter = new StatusPingLimiter();
+        InetAddress first = InetAddress.getByName("10.0.0.1");
+        InetAddress second = InetAddress.getByName("10.0.0.2");
+        assertTrue(limiter.tryAcquire(first, 2, 1000));
+        assertTrue(limiter.tryAcquire(first, 2, 1500));
+        assertFalse(limiter.tryAcquire(first, 2, 1999));
+        // Other addresses have their own budget
+        assertTrue(limiter.tryAcquire(second, 2, 1999));
+        // And it resets every second
+        assertTrue(limiter.tryAcquire(first, 2, 2000));
+    }
+
+    @Test
+    public void testNoLimit() throws Exception {
+        StatusPingLimiter limiter = new StatusPingLimiter();
+        InetAddress address = InetAddress.getByName("10.0.0.1");
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(address, 0, 1000));
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import net.minecraft.util.IChatComponent;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.spongepowered.common.interfaces.text.IMixinChatComponent;
+import org.spongepowered.common.interfaces.text.IMixinChatComponentTranslation;
+
+import java.util.Iterator;
+import java.util.List;
+
+public class ChatComponentIteratorTest {
+
+    private static IChatComponent component(IChatComponent... children) {
+        return stub(mock(IChatComponent.class, withSettings().extraInterfaces(IMixinChatComponent.class)), children);
+    }
+
+    private static IChatComponent translation(IChatComponent... children) {
+        return stub(mock(IChatComponent.class, withSettings().extraInterfaces(IMixinChatComponent.class, IMixinChatComponentTranslation.class)),
+                children);
+    }
+
+    private static IChatComponent stub(IChatComponent component, IChatComponent... children) {
+        final List<IChatComponent> list = ImmutableList.copyOf(children);
+        when(((IMixinChatComponent) component).childrenIterator()).thenAnswer(new Answer<Iterator<IChatComponent>>() {
+
+            @Override
+            public Iterator<IChatComponent> answer(InvocationOnMock invocation) {
+                return list.iterator();
+            }
+        });
+        return component;
+    }
+
+    private static List<IChatComponent> walk(IChatComponent root) {
+        return Lists.newArrayList(new ChatComponentIterator((IMixinChatComponent) root));
+    }
+
+    @Test
+    public void testDepthFirstOrder() {
+        IChatComponent a1 = component();
+        IChatComponent a = component(a1);
+        IChatComponent b = component();
+        IChatComponent root = component(a, b);
+        assertEquals(ImmutableList.of(root, a, a1, b), walk(root));
+    }
+
+    @Test
+    public void testTranslationChildrenOnly() {
+        IChatComponent arg = component();
+        IChatComponent sibling = component();
+        IChatComponent translation = translation(arg, sibling);
+        IChatComponent last = component();
+        IChatComponent root = component(translation, last);
+        assertEquals(ImmutableList.of(root, arg, sibling, last), walk(root));
+
+        Iterator<IChatComponent> children = new ChatComponentIterator(((IMixinChatComponent) translation).childrenIterator());
+        assertEquals(ImmutableList.of(arg, sibling), Lists.newArrayList(children));
+    }
+
+    @Test
+    public void testEmptyTranslation() {
+        IChatComponent root = component(translation(), translation(translation()));
+        assertEquals(ImmutableList.of(root), walk(root));
+        assertFalse(new ChatComponentIterator(ImmutableList.of(translation()).iterator()).hasNext());
+    }
+
+    @Test
+    public void testDeepTree() {
+        IChatComponent root = component();
+        for (int i = 0; i < 1000; i++) {
+            root = component(root);
+        }
+        assertEquals(1001, walk(root).size());
+    }
+
+}
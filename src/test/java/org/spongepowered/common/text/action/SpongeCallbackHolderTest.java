@@ -0,0 +1,105 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+import org.spongepowered.api.util.Consumer;
+import org.spongepowered.api.util.command.CommandSource;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+public class SpongeCallbackHolderTest {
+
+    private static final long EXPIRY = TimeUnit.MINUTES.toNanos(10);
+
+    private static class FakeTicker extends Ticker {
+
+        long nanos;
+
+        @Override
+        public long read() {
+            return this.nanos;
+        }
+    }
+
+    private static class Callback implements Consumer<CommandSource> {
+
+        @Override
+        public void accept(CommandSource source) {
+        }
+    }
+
+    @Test
+    public void testSameInstanceReusesId() {
+        SpongeCallbackHolder holder = new SpongeCallbackHolder(new FakeTicker(), EXPIRY, 10);
+        Callback callback = new Callback();
+        UUID id = holder.getOrCreateIdForCallback(callback);
+        assertEquals(id, holder.getOrCreateIdForCallback(callback));
+        assertFalse(id.equals(holder.getOrCreateIdForCallback(new Callback())));
+        assertSame(callback, holder.getCallbackForUUID(id).get());
+        assertFalse(holder.getCallbackForUUID(UUID.randomUUID()).isPresent());
+        assertEquals(Integer.valueOf(2), holder.getOwnerCounts().get(SpongeCallbackHolderTest.class.getName()));
+    }
+
+    @Test
+    public void testSizeCap() {
+        SpongeCallbackHolder holder = new SpongeCallbackHolder(new FakeTicker(), EXPIRY, 2);
+        UUID first = holder.getOrCreateIdForCallback(new Callback());
+        holder.getOrCreateIdForCallback(new Callback());
+        holder.getOrCreateIdForCallback(new Callback());
+        assertEquals(2, holder.size());
+        assertFalse(holder.getCallbackForUUID(first).isPresent());
+    }
+
+    @Test
+    public void testExpiredCallbacksAreReclaimed() {
+        FakeTicker ticker = new FakeTicker();
+        SpongeCallbackHolder holder = new SpongeCallbackHolder(ticker, EXPIRY, 10);
+        Callback callback = new Callback();
+        UUID id = holder.getOrCreateIdForCallback(callback);
+        UUID kept = holder.getOrCreateIdForCallback(new Callback());
+        ticker.nanos = EXPIRY / 2;
+        holder.getCallbackForUUID(kept);
+
+        ticker.nanos = EXPIRY;
+        holder.cleanUp();
+        assertEquals(1, holder.size());
+        assertFalse(holder.getCallbackForUUID(id).isPresent());
+        assertEquals(Integer.valueOf(1), holder.getOwnerCounts().get(SpongeCallbackHolderTest.class.getName()));
+        assertTrue(holder.getCallbackForUUID(kept).isPresent());
+
+        // Registering the expired callback again gives it a new id
+        assertFalse(id.equals(holder.getOrCreateIdForCallback(callback)));
+        assertEquals(2, holder.size());
+    }
+
+}
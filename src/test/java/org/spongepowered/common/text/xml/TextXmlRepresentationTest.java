@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.common.text.xml.TextXmlRepresentation.ParseCache;
+import org.spongepowered.common.text.xml.TextXmlRepresentation.Parser;
+
+public class TextXmlRepresentationTest {
+
+    @Test
+    public void testParserIsReused() {
+        Parser parser = TextXmlRepresentation.acquireParser();
+        parser.release();
+        Parser next = TextXmlRepresentation.acquireParser();
+        next.release();
+        assertSame(parser, next);
+    }
+
+    @Test
+    public void testNestedParserIsSeparate() {
+        // Like a hover text being parsed while its message is
+        Parser outer = TextXmlRepresentation.acquireParser();
+        Parser inner = TextXmlRepresentation.acquireParser();
+        assertNotSame(outer, inner);
+        inner.release();
+        outer.release();
+        Parser next = TextXmlRepresentation.acquireParser();
+        next.release();
+        assertSame(outer, next);
+    }
+
+    @Test
+    public void testReusedParserReadsEachMessage() throws Exception {
+        assertEquals("first", ((Text.Literal) TextXmlRepresentation.INSTANCE.from("first")).getContent());
+        assertEquals("second", ((Text.Literal) TextXmlRepresentation.INSTANCE.from("second")).getContent());
+    }
+
+    @Test
+    public void testParsedMessagesAreCached() throws Exception {
+        // Without a loaded config the default size is used
+        Text text = TextXmlRepresentation.INSTANCE.from("cached");
+        assertSame(text, TextXmlRepresentation.INSTANCE.from("cached"));
+    }
+
+    @Test
+    public void testCacheIsKeptOnReloadWithSameSize() {
+        ParseCache cache = ParseCache.update(null, 0, 16);
+        assertNotNull(cache.cache);
+        ParseCache reloaded = ParseCache.update(cache, 1, 16);
+        assertEquals(1, reloaded.configVersion);
+        assertSame(cache.cache, reloaded.cache);
+    }
+
+    @Test
+    public void testCacheIsReplacedOnResize() {
+        ParseCache cache = ParseCache.update(null, 0, 16);
+        ParseCache resized = ParseCache.update(cache, 1, 32);
+        assertEquals(32, resized.size);
+        assertNotSame(cache.cache, resized.cache);
+        assertNull(ParseCache.update(resized, 2, 0).cache);
+    }
+
+}
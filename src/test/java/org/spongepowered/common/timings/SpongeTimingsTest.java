@@ -0,0 +1,91 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.timings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+public class SpongeTimingsTest {
+
+    @After
+    public void tearDown() {
+        SpongeTimings.setMode(SpongeTimings.Mode.OFF, 1);
+        SpongeTimings.reset();
+    }
+
+    @Test
+    public void testOffNeverTimes() {
+        SpongeTimings.setMode(SpongeTimings.Mode.OFF, 1);
+        for (int i = 0; i < 10; i++) {
+            SpongeTimings.tickStarted();
+            assertFalse(SpongeTimings.isTiming());
+            SpongeTimings.tickEnded();
+        }
+        assertEquals(0, SpongeTimings.getTimedTicks());
+    }
+
+    @Test
+    public void testSampledTimesEveryNthTick() {
+        SpongeTimings.setMode(SpongeTimings.Mode.SAMPLED, 4);
+        int timed = 0;
+        for (int i = 0; i < 40; i++) {
+            SpongeTimings.tickStarted();
+            if (SpongeTimings.isTiming()) {
+                timed++;
+            }
+            SpongeTimings.tickEnded();
+        }
+        assertEquals(10, timed);
+        assertEquals(10, SpongeTimings.getTimedTicks());
+    }
+
+    @Test
+    public void testRecordsAggregatePerClass() {
+        final long start = System.nanoTime();
+        SpongeTimings.record(TimingPhase.ENTITY_TICK, String.class, null, start);
+        SpongeTimings.record(TimingPhase.ENTITY_TICK, String.class, null, start);
+        SpongeTimings.record(TimingPhase.TILE_ENTITY_TICK, Integer.class, null, start - 1000000000L);
+
+        List<TimingEntry> entries = SpongeTimings.getEntries();
+        assertEquals(2, entries.size());
+        // Most expensive first
+        assertEquals(Integer.class, entries.get(0).getType());
+        assertTrue(entries.get(0).getTotalNanos() >= 1000000000L);
+        assertEquals(2, entries.get(1).getCount());
+        assertEquals(TimingPhase.ENTITY_TICK, entries.get(1).getPhase());
+
+        assertEquals(1, SpongeTimings.getTotalsByOwner().size());
+        assertEquals("minecraft", SpongeTimings.getTotalsByOwner().get(0).getKey());
+
+        SpongeTimings.reset();
+        assertTrue(SpongeTimings.getEntries().isEmpty());
+    }
+}
@@ -30,6 +30,11 @@
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 public class IpSetTest {
     @Test
@@ -60,4 +65,81 @@ public void testFullLengthSets() throws UnknownHostException {
         assertTrue(specv4.apply(InetAddress.getByName("10.0.0.1")));
         assertFalse(specv4.apply(InetAddress.getByName("10.0.0.2")));
     }
+
+    @Test
+    public void testPartialByteSets() throws UnknownHostException {
+        IpSet spec = IpSet.fromCidr("192.168.128.0/17");
+        assertTrue(spec.apply(InetAddress.getByName("192.168.200.1")));
+        assertFalse(spec.apply(InetAddress.getByName("192.168.127.1")));
+        spec = IpSet.fromCidr("10.0.0.0/9");
+        assertTrue(spec.apply(InetAddress.getByName("10.127.0.1")));
+        assertFalse(spec.apply(InetAddress.getByName("10.128.0.1")));
+    }
+
+    @Test
+    public void testBareAddresses() throws UnknownHostException {
+        assertEquals(32, IpSet.fromCidr("10.0.0.1").getPrefixLength());
+        IpSet spec = IpSet.fromCidr("::1");
+        assertEquals(128, spec.getPrefixLength());
+        assertTrue(spec.apply(InetAddress.getByName("::1")));
+        assertFalse(spec.apply(InetAddress.getByName("::1:1")));
+    }
+
+    @Test
+    public void testTrieMatchesAnySet() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.of(Arrays.asList(IpSet.fromCidr("10.42.0.0/16"), IpSet.fromCidr("192.168.128.0/17"),
+                IpSet.fromCidr("[2064:45:300::]/40"), IpSet.fromCidr("172.16.0.1")));
+        assertTrue(trie.apply(InetAddress.getByName("10.42.2.5")));
+        assertTrue(trie.apply(InetAddress.getByName("192.168.200.1")));
+        assertTrue(trie.apply(InetAddress.getByName("172.16.0.1")));
+        assertTrue(trie.apply(InetAddress.getByName("2064:45:310::cafe")));
+        assertFalse(trie.apply(InetAddress.getByName("10.43.2.5")));
+        assertFalse(trie.apply(InetAddress.getByName("192.168.127.1")));
+        assertFalse(trie.apply(InetAddress.getByName("172.16.0.2")));
+        assertFalse(trie.apply(InetAddress.getByName("2064:45:410::cafe")));
+        // IPv4 sets never match IPv6 addresses and the other way around
+        assertFalse(trie.apply(InetAddress.getByName("::a2a:205")));
+        assertFalse(IpSetTrie.of(Arrays.asList(IpSet.fromCidr("::/0"))).apply(InetAddress.getByName("10.0.0.1")));
+    }
+
+    @Test
+    public void testTrieNestedSets() throws UnknownHostException {
+        IpSetTrie trie = IpSetTrie.of(Arrays.asList(IpSet.fromCidr("10.42.1.0/24"), IpSet.fromCidr("10.0.0.0/8")));
+        assertTrue(trie.apply(InetAddress.getByName("10.1.2.3")));
+        assertTrue(trie.apply(InetAddress.getByName("10.42.1.3")));
+        assertTrue(IpSetTrie.of(Arrays.asList(IpSet.fromCidr("0.0.0.0/0"))).apply(InetAddress.getByName("1.2.3.4")));
+        assertFalse(IpSetTrie.of(Collections.<IpSet>emptyList()).apply(InetAddress.getByName("1.2.3.4")));
+    }
+
+    @Test
+    public void testTrieAgreesWithLinearScan() throws UnknownHostException {
+        Random random = new Random(42);
+        List<IpSet> sets = randomIpv4Sets(random, 200);
+        IpSetTrie trie = IpSetTrie.of(sets);
+        for (int i = 0; i < 10000; i++) {
+            InetAddress address = randomIpv4Address(random);
+            boolean expected = false;
+            for (IpSet set : sets) {
+                expected |= set.apply(address);
+            }
+            assertEquals(address.toString(), expected, trie.apply(address));
+            assertEquals(address.toString(), expected, trie.contains(address.getAddress()));
+        }
+    }
+
+    private static List<IpSet> randomIpv4Sets(Random random, int count) throws UnknownHostException {
+        List<IpSet> sets = new ArrayList<IpSet>();
+        for (int i = 0; i < count; i++) {
+            sets.add(IpSet.fromAddrPrefix(randomIpv4Address(random), 8 + random.nextInt(25)));
+        }
+        return sets;
+    }
+
+    private static InetAddress randomIpv4Address(Random random) throws UnknownHostException {
+        byte[] address = new byte[4];
+        random.nextBytes(address);
+        // Keep addresses in a few /8s so that sets overlap with them
+        address[0] = (byte) (10 + random.nextInt(4));
+        return InetAddress.getByAddress(address);
+    }
 }
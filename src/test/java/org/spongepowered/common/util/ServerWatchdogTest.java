@@ -0,0 +1,242 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.lang.management.ThreadInfo;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+
+public class ServerWatchdogTest {
+
+    @Test
+    public void testStallWarningThenDeadlock() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread server = new Thread("Stalled Server") {
+
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    // Done
+                }
+            }
+        };
+        server.setDaemon(true);
+        server.start();
+
+        RecordingWatchdog watchdog = new RecordingWatchdog(server, 100, 400);
+        watchdog.start();
+        try {
+            watchdog.tickStarted();
+            assertTrue(watchdog.warned.await(5, TimeUnit.SECONDS));
+            assertTrue(watchdog.deadlocked.await(5, TimeUnit.SECONDS));
+            assertNotNull(watchdog.warnInfo);
+            assertEquals(server.getId(), watchdog.warnInfo.getThreadId());
+            assertTrue(ServerWatchdog.formatThreadInfo(watchdog.warnInfo).contains("Stalled Server"));
+            assertEquals(0, watchdog.deadlockedThreads);
+            // Reported once per stalled tick
+            Thread.sleep(200);
+            assertEquals(1, watchdog.warnings);
+            assertEquals(1, watchdog.deadlocks);
+        } finally {
+            release.countDown();
+            watchdog.shutdown();
+        }
+    }
+
+    @Test
+    public void testFastTicksAreNotReported() throws Exception {
+        RecordingWatchdog watchdog = new RecordingWatchdog(Thread.currentThread(), 200, 400);
+        watchdog.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                watchdog.tickStarted();
+                Thread.sleep(10);
+                watchdog.tickEnded();
+                Thread.sleep(40);
+            }
+            assertFalse(watchdog.warned.await(0, TimeUnit.MILLISECONDS));
+            assertFalse(watchdog.deadlocked.await(0, TimeUnit.MILLISECONDS));
+        } finally {
+            watchdog.shutdown();
+        }
+    }
+
+    @Test
+    public void testLockCycleIsDetectedBeforeTimeout() throws Exception {
+        final ReentrantLock first = new ReentrantLock();
+        final ReentrantLock second = new ReentrantLock();
+        final CountDownLatch locked = new CountDownLatch(2);
+        final Thread server = new LockingThread("Deadlocked Server", first, second, locked);
+        final Thread other = new LockingThread("Deadlocked Worker", second, first, locked);
+        server.start();
+        other.start();
+
+        // Warn straight away, and never time out, so only the lock cycle can report a deadlock
+        RecordingWatchdog watchdog = new RecordingWatchdog(server, 50, 0);
+        try {
+            awaitWaiting(second, server);
+            awaitWaiting(first, other);
+            watchdog.start();
+            watchdog.tickStarted();
+            assertTrue(watchdog.deadlocked.await(5, TimeUnit.SECONDS));
+            assertEquals(2, watchdog.deadlockedThreads);
+            assertTrue(ServerWatchdog.formatThreadInfo(watchdog.deadlockInfo).contains("owned by \"Deadlocked Worker\""));
+        } finally {
+            watchdog.shutdown();
+            server.interrupt();
+            other.interrupt();
+        }
+    }
+
+    @Test
+    public void testLockCycleIsFoundThroughOwners() throws Exception {
+        final ReentrantLock first = new ReentrantLock();
+        final ReentrantLock second = new ReentrantLock();
+        final ReentrantLock third = new ReentrantLock();
+        final CountDownLatch locked = new CountDownLatch(4);
+        // The server waits on a worker, which waits on the cycle without being in it
+        final Thread server = new LockingThread("Waiting Server", null, third, locked);
+        final Thread waiting = new LockingThread("Waiting Worker", third, first, locked);
+        final Thread cycleFirst = new LockingThread("Deadlocked First", first, second, locked);
+        final Thread cycleSecond = new LockingThread("Deadlocked Second", second, first, locked);
+        cycleFirst.start();
+        cycleSecond.start();
+        waiting.start();
+        server.start();
+
+        RecordingWatchdog watchdog = new RecordingWatchdog(server, 50, 0);
+        try {
+            awaitWaiting(third, server);
+            awaitWaiting(first, waiting);
+            awaitWaiting(first, cycleSecond);
+            awaitWaiting(second, cycleFirst);
+            watchdog.start();
+            watchdog.tickStarted();
+            assertTrue(watchdog.deadlocked.await(5, TimeUnit.SECONDS));
+            // Depending on where the JVM starts looking, it may report the waiting threads as deadlocked as well
+            assertTrue(watchdog.deadlockedNames.containsAll(ImmutableSet.of("Waiting Worker", "Deadlocked First", "Deadlocked Second")));
+            assertEquals(0, watchdog.warnings);
+        } finally {
+            watchdog.shutdown();
+            server.interrupt();
+            waiting.interrupt();
+            cycleFirst.interrupt();
+            cycleSecond.interrupt();
+        }
+    }
+
+    private static void awaitWaiting(ReentrantLock lock, Thread thread) throws InterruptedException {
+        final long end = System.currentTimeMillis() + 5000;
+        while (!lock.hasQueuedThread(thread)) {
+            assertTrue(System.currentTimeMillis() < end);
+            Thread.sleep(1);
+        }
+    }
+
+    private static final class LockingThread extends Thread {
+
+        @Nullable private final ReentrantLock outer;
+        private final ReentrantLock inner;
+        private final CountDownLatch locked;
+
+        LockingThread(String name, @Nullable ReentrantLock outer, ReentrantLock inner, CountDownLatch locked) {
+            super(name);
+            setDaemon(true);
+            this.outer = outer;
+            this.inner = inner;
+            this.locked = locked;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (this.outer != null) {
+                    this.outer.lockInterruptibly();
+                }
+                try {
+                    this.locked.countDown();
+                    this.locked.await();
+                    this.inner.lockInterruptibly();
+                    this.inner.unlock();
+                } finally {
+                    if (this.outer != null) {
+                        this.outer.unlock();
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Done
+            }
+        }
+    }
+
+    private static final class RecordingWatchdog extends ServerWatchdog {
+
+        final CountDownLatch warned = new CountDownLatch(1);
+        final CountDownLatch deadlocked = new CountDownLatch(1);
+        volatile ThreadInfo warnInfo;
+        volatile ThreadInfo deadlockInfo;
+        volatile int deadlockedThreads;
+        final Set<String> deadlockedNames = Sets.newConcurrentHashSet();
+        volatile int warnings;
+        volatile int deadlocks;
+
+        RecordingWatchdog(Thread serverThread, long warnTimeout, long deadlockTimeout) {
+            super(serverThread, warnTimeout, deadlockTimeout);
+        }
+
+        @Override
+        protected void onStallWarning(ThreadInfo serverThread, long stalled) {
+            this.warnInfo = serverThread;
+            this.warnings++;
+            this.warned.countDown();
+        }
+
+        @Override
+        protected void onDeadlock(ThreadInfo serverThread, ThreadInfo[] deadlocked, long stalled) {
+            this.deadlockInfo = serverThread;
+            this.deadlockedThreads = deadlocked.length;
+            for (ThreadInfo info : deadlocked) {
+                this.deadlockedNames.add(info.getThreadName());
+            }
+            this.deadlocks++;
+            this.deadlocked.countDown();
+        }
+    }
+}
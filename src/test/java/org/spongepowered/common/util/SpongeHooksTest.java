@@ -0,0 +1,104 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.monster.EntityZombie;
+import net.minecraft.entity.passive.EntityCow;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import org.junit.Test;
+import org.spongepowered.common.configuration.ActiveConfigSnapshot;
+import org.spongepowered.common.configuration.SpongeConfig;
+import org.spongepowered.common.entity.SpongeEntityCategory;
+import org.spongepowered.common.interfaces.IMixinChunk;
+import org.spongepowered.common.interfaces.IMixinWorld;
+
+public class SpongeHooksTest {
+
+    private static Entity createEntity(int maxSpeed) {
+        SpongeConfig<?> config = mock(SpongeConfig.class, RETURNS_DEEP_STUBS);
+        when(config.getConfig().getEntity().getMaxSpeed()).thenReturn(maxSpeed);
+        World world = mock(World.class, withSettings().extraInterfaces(IMixinWorld.class));
+        when(((IMixinWorld) world).getActiveConfig()).thenReturn(new ActiveConfigSnapshot(config, 0));
+        Entity entity = mock(Entity.class);
+        entity.worldObj = world;
+        return entity;
+    }
+
+    @Test
+    public void testSpeedLimit() {
+        Entity entity = createEntity(100);
+        assertTrue(SpongeHooks.checkEntitySpeed(entity, 6, 50, 8));
+        assertFalse(entity.isDead);
+        assertFalse(SpongeHooks.checkEntitySpeed(entity, 6, 0, 9));
+        assertTrue(entity.isDead);
+    }
+
+    @Test
+    public void testNoSpeedLimit() {
+        Entity entity = createEntity(0);
+        assertTrue(SpongeHooks.checkEntitySpeed(entity, 1000, 1000, 1000));
+        assertFalse(entity.isDead);
+    }
+
+    private static <T extends Entity> T createEntityInChunk(Class<T> type, int monsterCap, int monstersInChunk) {
+        SpongeConfig<?> config = mock(SpongeConfig.class, RETURNS_DEEP_STUBS);
+        when(config.getConfig().getEntity().getChunkMonsterCap()).thenReturn(monsterCap);
+        Chunk chunk = mock(Chunk.class, withSettings().extraInterfaces(IMixinChunk.class));
+        when(((IMixinChunk) chunk).getEntityCount(SpongeEntityCategory.MONSTER)).thenReturn(monstersInChunk);
+        World world = mock(World.class, withSettings().extraInterfaces(IMixinWorld.class).defaultAnswer(RETURNS_DEEP_STUBS));
+        when(((IMixinWorld) world).getActiveConfig()).thenReturn(new ActiveConfigSnapshot(config, 0));
+        when(world.getChunkProvider().chunkExists(0, 0)).thenReturn(true);
+        when(world.getChunkFromChunkCoords(0, 0)).thenReturn(chunk);
+        T entity = mock(type);
+        entity.worldObj = world;
+        return entity;
+    }
+
+    @Test
+    public void testChunkEntityCap() {
+        assertFalse(SpongeHooks.checkChunkEntityCap(createEntityInChunk(EntityZombie.class, 10, 9)));
+        assertTrue(SpongeHooks.checkChunkEntityCap(createEntityInChunk(EntityZombie.class, 10, 10)));
+        assertTrue(SpongeHooks.checkChunkEntityCap(createEntityInChunk(EntityZombie.class, 10, 50)));
+    }
+
+    @Test
+    public void testNoChunkEntityCap() {
+        assertFalse(SpongeHooks.checkChunkEntityCap(createEntityInChunk(EntityZombie.class, 0, 50)));
+        // The monster cap doesn't apply to other categories, and players are never denied
+        assertFalse(SpongeHooks.checkChunkEntityCap(createEntityInChunk(EntityCow.class, 10, 50)));
+        assertFalse(SpongeHooks.checkChunkEntityCap(createEntityInChunk(EntityPlayerMP.class, 10, 50)));
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.flowpowered.math.vector.Vector2i;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.biome.BiomeGenBase;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.extent.MutableBiomeArea;
+import org.spongepowered.api.world.extent.StorageType;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AtomicObjectArrayMutableBiomeBufferTest {
+
+    private static final int THREADS = 8;
+    private static final int SIZE = 64;
+    private static final BiomeType[] BIOMES = new BiomeType[THREADS];
+
+    @BeforeClass
+    public static void createBiomes() {
+        // BiomeGenBase can't be loaded before the blocks are registered
+        Bootstrap.register();
+        for (int i = 0; i < BIOMES.length; i++) {
+            BIOMES[i] = (BiomeType) mock(BiomeGenBase.class, withSettings().extraInterfaces(BiomeType.class));
+        }
+    }
+
+    private static AtomicObjectArrayMutableBiomeBuffer createBuffer() {
+        BiomeGenBase[] biomes = new BiomeGenBase[SIZE * SIZE];
+        for (int i = 0; i < biomes.length; i++) {
+            biomes[i] = (BiomeGenBase) BIOMES[0];
+        }
+        return new AtomicObjectArrayMutableBiomeBuffer(biomes, Vector2i.ZERO, new Vector2i(SIZE, SIZE));
+    }
+
+    @Test
+    public void testNoLostUpdates() throws Exception {
+        final AtomicObjectArrayMutableBiomeBuffer buffer = createBuffer();
+        // Every thread owns the columns equal to its id modulo the thread count
+        runConcurrently(new Worker() {
+
+            @Override
+            public void run(int id) {
+                for (int round = 0; round < 50; round++) {
+                    for (int z = 0; z < SIZE; z++) {
+                        for (int x = id; x < SIZE; x += THREADS) {
+                            buffer.setBiome(x, z, BIOMES[(id + round) % BIOMES.length]);
+                        }
+                    }
+                }
+            }
+        });
+        for (int z = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++) {
+                assertSame(BIOMES[(x % THREADS + 49) % BIOMES.length], buffer.getBiome(x, z));
+            }
+        }
+    }
+
+    @Test
+    public void testCopiesAreSnapshots() throws Exception {
+        final AtomicObjectArrayMutableBiomeBuffer buffer = createBuffer();
+        final AtomicReference<String> torn = new AtomicReference<String>();
+        // One thread fills the area over and over in index order with the next biome, so in a
+        // snapshot the biomes of later positions are never newer than the ones of earlier positions
+        runConcurrently(new Worker() {
+
+            @Override
+            public void run(int id) {
+                for (int round = 0; round < 200; round++) {
+                    if (id == 0) {
+                        BiomeType biome = BIOMES[(round + 1) % 3];
+                        for (int z = 0; z < SIZE; z++) {
+                            for (int x = 0; x < SIZE; x++) {
+                                buffer.setBiome(x, z, biome);
+                            }
+                        }
+                    } else {
+                        MutableBiomeArea copy = buffer.getBiomeCopy(id % 2 == 0 ? StorageType.STANDARD : StorageType.THREAD_SAFE);
+                        int changes = 0;
+                        BiomeType previous = copy.getBiome(0, 0);
+                        for (int z = 0; z < SIZE; z++) {
+                            for (int x = 0; x < SIZE; x++) {
+                                BiomeType biome = copy.getBiome(x, z);
+                                if (biome != previous) {
+                                    // Going from the newer biome to the older one
+                                    if (biome != BIOMES[(indexOf(previous) + 2) % 3] || ++changes > 1) {
+                                        torn.set("Torn copy at " + x + ", " + z);
+                                    }
+                                    previous = biome;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        assertEquals(null, torn.get());
+    }
+
+    private static int indexOf(BiomeType biome) {
+        for (int i = 0; i < BIOMES.length; i++) {
+            if (BIOMES[i] == biome) {
+                return i;
+            }
+        }
+        throw new AssertionError(biome);
+    }
+
+    private static void runConcurrently(final Worker worker) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            final int id = i;
+            threads[i] = new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        worker.run(id);
+                    } catch (Throwable t) {
+                        failure.set(t);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    private interface Worker {
+
+        void run(int id);
+    }
+}
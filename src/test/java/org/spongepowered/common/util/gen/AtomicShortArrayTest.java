@@ -0,0 +1,145 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AtomicShortArrayTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testRoundTrip() {
+        short[] values = {0, 1, -1, Short.MAX_VALUE, Short.MIN_VALUE, 4097, 12345};
+        AtomicShortArray array = new AtomicShortArray(values);
+        assertEquals(values.length, array.length());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], array.get(i));
+        }
+        array.set(6, (short) -2);
+        array.set(5, (short) 7);
+        values[6] = -2;
+        values[5] = 7;
+        assertArrayEquals(values, array.toArray());
+
+        byte[] bytes = {0, 1, -1, Byte.MAX_VALUE, Byte.MIN_VALUE, 42};
+        AtomicByteArray byteArray = new AtomicByteArray(bytes);
+        byteArray.set(4, (byte) 3);
+        bytes[4] = 3;
+        assertArrayEquals(bytes, byteArray.toArray());
+    }
+
+    @Test
+    public void testNoLostUpdatesBetweenNeighbours() throws Exception {
+        final AtomicShortArray array = new AtomicShortArray(4096);
+        final AtomicByteArray byteArray = new AtomicByteArray(4096);
+        // Every thread owns the indexes equal to its id modulo the thread count,
+        // so neighbouring elements that share a packed int are written concurrently
+        runConcurrently(new Worker() {
+
+            @Override
+            public void run(int id) {
+                for (int round = 0; round < 50; round++) {
+                    for (int i = id; i < array.length(); i += THREADS) {
+                        array.set(i, (short) (i + round));
+                        byteArray.set(i, (byte) (i + round));
+                    }
+                }
+            }
+        });
+        for (int i = 0; i < array.length(); i++) {
+            assertEquals((short) (i + 49), array.get(i));
+            assertEquals((byte) (i + 49), byteArray.get(i));
+        }
+    }
+
+    @Test
+    public void testBulkOperationsAreSnapshots() throws Exception {
+        final AtomicShortArray array = new AtomicShortArray(1025);
+        final AtomicReference<short[]> torn = new AtomicReference<short[]>();
+        runConcurrently(new Worker() {
+
+            @Override
+            public void run(int id) {
+                short[] fill = new short[array.length()];
+                for (int round = 0; round < 200; round++) {
+                    if (id % 2 == 0) {
+                        Arrays.fill(fill, (short) (id * 1000 + round));
+                        array.set(fill);
+                    } else {
+                        short[] snapshot = array.toArray();
+                        for (short value : snapshot) {
+                            if (value != snapshot[0]) {
+                                torn.set(snapshot);
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        assertEquals(null, torn.get());
+    }
+
+    private static void runConcurrently(final Worker worker) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            final int id = i;
+            threads[i] = new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        worker.run(id);
+                    } catch (Throwable t) {
+                        failure.set(t);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    private interface Worker {
+
+        void run(int id);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.entity.monster.EntityZombie;
+import net.minecraft.entity.passive.EntityCow;
+import net.minecraft.tileentity.TileEntityChest;
+import net.minecraft.tileentity.TileEntityHopper;
+import org.junit.Test;
+import org.spongepowered.common.entity.SpongeEntityCategory;
+
+public class ChunkEntityCountsTest {
+
+    @Test
+    public void testEntityCounts() {
+        ChunkEntityCounts counts = new ChunkEntityCounts();
+        EntityZombie zombie = mock(EntityZombie.class);
+        EntityCow cow = mock(EntityCow.class);
+        EntityItem item = mock(EntityItem.class);
+        counts.entityAdded(zombie);
+        counts.entityAdded(zombie);
+        counts.entityAdded(cow);
+        counts.entityAdded(item);
+
+        assertEquals(4, counts.getEntityCount());
+        assertEquals(2, counts.getEntityCount(SpongeEntityCategory.MONSTER));
+        assertEquals(1, counts.getEntityCount(SpongeEntityCategory.CREATURE));
+        assertEquals(1, counts.getEntityCount(SpongeEntityCategory.ITEM));
+        assertEquals(0, counts.getEntityCount(SpongeEntityCategory.AQUATIC));
+        assertEquals(2, counts.getEntityCount(zombie.getClass()));
+
+        counts.entityRemoved(zombie);
+        counts.entityRemoved(item);
+        assertEquals(2, counts.getEntityCount());
+        assertEquals(1, counts.getEntityCount(SpongeEntityCategory.MONSTER));
+        assertEquals(0, counts.getEntityCount(SpongeEntityCategory.ITEM));
+        assertEquals(1, counts.getEntityCount(zombie.getClass()));
+        assertEquals(0, counts.getEntityCount(item.getClass()));
+    }
+
+    @Test
+    public void testTileEntityCounts() {
+        ChunkEntityCounts counts = new ChunkEntityCounts();
+        TileEntityChest chest = mock(TileEntityChest.class);
+        TileEntityHopper hopper = mock(TileEntityHopper.class);
+        counts.tileEntityAdded(chest);
+        counts.tileEntityAdded(hopper);
+        counts.tileEntityAdded(hopper);
+        assertEquals(3, counts.getTileEntityCount());
+        assertEquals(2, counts.getTileEntityCount(hopper.getClass()));
+
+        counts.tileEntityRemoved(hopper);
+        counts.tileEntityRemoved(chest);
+        assertEquals(1, counts.getTileEntityCount());
+        assertEquals(0, counts.getTileEntityCount(chest.getClass()));
+        assertEquals(1, counts.getTileEntityCount(hopper.getClass()));
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import net.minecraft.util.BlockPos;
+import org.junit.Test;
+import org.spongepowered.common.util.VecHelper;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class PendingTickIndexTest {
+
+    @Test
+    public void testPackingMatchesBlockPos() {
+        int[][] positions = {{0, 0, 0}, {-1, 0, -1}, {29999999, 255, -29999999}, {-30000000, 12, 30000000 - 1}};
+        for (int[] pos : positions) {
+            assertEquals(new BlockPos(pos[0], pos[1], pos[2]).toLong(), VecHelper.toLong(pos[0], pos[1], pos[2]));
+        }
+    }
+
+    @Test
+    public void testConsistentWithPendingTickSet() {
+        // Mirrors WorldServer: the hash set decides membership, the tree set orders the entries
+        Set<Entry> pending = new HashSet<Entry>();
+        TreeSet<Entry> ordered = new TreeSet<Entry>();
+        PendingTickIndex<Entry> index = new PendingTickIndex<Entry>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            // Few blocks per position, so equal entries get scheduled again and are rejected
+            Entry entry = new Entry(i, random.nextInt(16) - 8, random.nextInt(4), random.nextInt(16) - 8, random.nextInt(3));
+            if (index.addPending(pending, entry.key(), entry)) {
+                ordered.add(entry);
+            }
+        }
+        assertTrue(pending.size() < 2000);
+        assertConsistent(pending, index);
+
+        // Scheduling an equal entry again is rejected by the set and must not reach the index
+        Entry first = ordered.first();
+        assertFalse(index.addPending(pending, first.key(), new Entry(-1, first.x, first.y, first.z, first.block)));
+        assertConsistent(pending, index);
+
+        // Removing an equal, but not identical, entry as removeScheduledUpdate may do
+        Entry copy = new Entry(-1, first.x, first.y, first.z, first.block);
+        assertTrue(index.removePending(pending, copy.key(), copy));
+        ordered.remove(first);
+        assertFalse(index.removePending(pending, copy.key(), copy));
+        assertConsistent(pending, index);
+
+        // Unload the chunk at 0, 0 the same way WorldServer does, removing from the hash set while iterating the tree set
+        for (Iterator<Entry> it = ordered.iterator(); it.hasNext();) {
+            Entry entry = it.next();
+            if (entry.x >> 4 == 0 && entry.z >> 4 == 0) {
+                assertTrue(index.removePending(pending, entry.key(), entry));
+                it.remove();
+            }
+        }
+        assertConsistent(pending, index);
+
+        // Run some ticks the same way tickUpdates does
+        for (int i = 0; i < 100; i++) {
+            Entry entry = ordered.pollFirst();
+            assertTrue(index.removePending(pending, entry.key(), entry));
+        }
+        assertConsistent(pending, index);
+    }
+
+    private static void assertConsistent(Set<Entry> pending, PendingTickIndex<Entry> index) {
+        assertEquals(pending.size(), index.size());
+        for (int x = -8; x < 8; x++) {
+            for (int y = 0; y < 4; y++) {
+                for (int z = -8; z < 8; z++) {
+                    List<Entry> expected = Lists.newArrayList();
+                    for (Entry entry : pending) {
+                        if (entry.x == x && entry.y == y && entry.z == z) {
+                            expected.add(entry);
+                        }
+                    }
+                    List<Entry> actual = index.get(VecHelper.toLong(x, y, z));
+                    assertEquals(expected.size(), actual.size());
+                    assertTrue(actual.containsAll(expected));
+                }
+            }
+        }
+    }
+
+    /**
+     * Stands in for NextTickListEntry: equal by position and block, ordered
+     * by scheduling id.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        final int id;
+        final int x;
+        final int y;
+        final int z;
+        final int block;
+
+        Entry(int id, int x, int y, int z, int block) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.block = block;
+        }
+
+        long key() {
+            return VecHelper.toLong(this.x, this.y, this.z);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) obj;
+            return this.x == other.x && this.y == other.y && this.z == other.z && this.block == other.block;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) key() * 31 + this.block;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return this.id - other.id;
+        }
+    }
+}